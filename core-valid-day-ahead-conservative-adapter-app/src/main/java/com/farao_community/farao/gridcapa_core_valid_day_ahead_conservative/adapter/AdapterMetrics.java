@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the adapter hot path. Timers publish percentile histograms so that
+ * adapter latency (mapping) can be told apart from MinIO (URL signing) and runner (dispatch) latency.
+ */
+@Component
+public class AdapterMetrics {
+
+    static final String PREFIX = "core.valid.d2.conservative.adapter";
+    static final String HANDLING_TIMER = PREFIX + ".handling";
+    static final String URL_SIGNING_TIMER = PREFIX + ".url.signing";
+    static final String INPUT_CHECK_TIMER = PREFIX + ".input.check";
+    static final String MAPPING_TIMER = PREFIX + ".request.mapping";
+    static final String RUNNER_DISPATCH_TIMER = PREFIX + ".runner.dispatch";
+    static final String REQUESTS_COUNTER = PREFIX + ".requests";
+    static final String LAUNCH_TYPE_TAG = "launch.type";
+    static final String STATUS_TAG = "status";
+    static final String OUTCOME_TAG = "outcome";
+
+    private final MeterRegistry registry;
+    private final Timer urlSigningTimer;
+    private final Timer inputCheckTimer;
+    private final Timer mappingTimer;
+    private final Timer runnerDispatchTimer;
+    // handling meters are built once per tag combination rather than on every handling
+    private final Map<HandlingTags, HandlingMeters> handlingMeters = new ConcurrentHashMap<>();
+
+    public AdapterMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.urlSigningTimer = histogramTimer(URL_SIGNING_TIMER, "Time to sign one input file URL through MinIO, cache hits excluded");
+        this.inputCheckTimer = histogramTimer(INPUT_CHECK_TIMER, "Time to check that one input file is available in MinIO");
+        this.mappingTimer = histogramTimer(MAPPING_TIMER, "Time to map a task into a runner request");
+        this.runnerDispatchTimer = histogramTimer(RUNNER_DISPATCH_TIMER, "Time to hand a request over to the runner");
+    }
+
+    public String recordUrlSigning(final Supplier<String> urlSigning) {
+        return urlSigningTimer.record(urlSigning);
+    }
+
+    public boolean recordInputCheck(final Supplier<Boolean> inputCheck) {
+        return inputCheckTimer.record(inputCheck);
+    }
+
+    public <T> T recordMapping(final Supplier<T> mapping) {
+        return mappingTimer.record(mapping);
+    }
+
+    public void recordRunnerDispatch(final Runnable dispatch) {
+        runnerDispatchTimer.record(dispatch);
+    }
+
+    public Timer.Sample startHandling() {
+        return Timer.start(registry);
+    }
+
+    public void stopHandling(final Timer.Sample sample,
+                             final String launchType,
+                             final TaskStatus status,
+                             final HandlingOutcome outcome) {
+        final HandlingMeters meters = handlingMeters.computeIfAbsent(new HandlingTags(launchType, status, outcome), this::handlingMeters);
+        sample.stop(meters.timer());
+        meters.counter().increment();
+    }
+
+    private HandlingMeters handlingMeters(final HandlingTags tags) {
+        final String launchTypeTag = tags.launchType().toUpperCase(Locale.ROOT);
+        final String outcomeTag = tags.outcome().name();
+        final Timer timer = Timer.builder(HANDLING_TIMER)
+                .description("Time to handle a run request, from reception to runner handoff")
+                .tag(LAUNCH_TYPE_TAG, launchTypeTag)
+                .tag(OUTCOME_TAG, outcomeTag)
+                .publishPercentileHistogram()
+                .register(registry);
+        final Counter counter = Counter.builder(REQUESTS_COUNTER)
+                .description("Number of run requests handled")
+                .tag(LAUNCH_TYPE_TAG, launchTypeTag)
+                .tag(STATUS_TAG, String.valueOf(tags.status()))
+                .tag(OUTCOME_TAG, outcomeTag)
+                .register(registry);
+        return new HandlingMeters(timer, counter);
+    }
+
+    private Timer histogramTimer(final String name, final String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record HandlingTags(String launchType, TaskStatus status, HandlingOutcome outcome) {
+    }
+
+    private record HandlingMeters(Timer timer, Counter counter) {
+    }
+}
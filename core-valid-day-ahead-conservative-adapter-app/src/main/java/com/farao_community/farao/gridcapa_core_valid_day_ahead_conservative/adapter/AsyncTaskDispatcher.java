@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.rabbitmq.client.Channel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+/**
+ * Runs task handlings on the virtual-thread workers of the {@link PriorityDispatchScheduler} so that a slow
+ * runner handoff does not stall queue consumption.
+ * At most {@link DispatchProperties#maxInFlight()} handlings of each launch type are queued, running or waiting for
+ * a retry at once, like the prefetch of each binding: beyond that, the consumer thread blocks until a slot of its
+ * launch type is freed, which keeps unacknowledged messages on the broker side instead of buffering them in memory.
+ * A full automatic backlog therefore never keeps a manual request from reaching the priority queue.
+ * Messages are acknowledged only once their handling succeeded (bindings must use the MANUAL acknowledge mode).
+ * Transient failures are retried following the {@link TransientFailureRetrier} backoff, which is waited for on a
+ * timer rather than on a worker; failed messages are then dead-lettered with their exception headers by the
+ * {@link DeadLetterPublisher} and acknowledged. A message that cannot be dead-lettered is rejected without requeue,
+ * so that the broker dead-letters it if a DLQ is bound.
+ */
+@Component
+public class AsyncTaskDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTaskDispatcher.class);
+
+    private final DispatchProperties properties;
+    private final PriorityDispatchScheduler scheduler;
+    private final TransientFailureRetrier transientFailureRetrier;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final Semaphore manualPermits;
+    private final Semaphore automaticPermits;
+    private final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("dispatch-retry-timer").daemon().factory());
+
+    public AsyncTaskDispatcher(final DispatchProperties properties,
+                               final PriorityDispatchScheduler scheduler,
+                               final TransientFailureRetrier transientFailureRetrier,
+                               final DeadLetterPublisher deadLetterPublisher) {
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.transientFailureRetrier = transientFailureRetrier;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.manualPermits = new Semaphore(properties.maxInFlight());
+        this.automaticPermits = new Semaphore(properties.maxInFlight());
+    }
+
+    public void dispatch(final Message<?> message, final String launchType, final Runnable handling) {
+        dispatch(launchType, handling, () -> acknowledge(message.getHeaders()), failure -> deadLetter(message, launchType, failure));
+    }
+
+    /**
+     * @param onSuccess run once the handling succeeded
+     * @param onFailure run with the failure once the handling failed for good
+     */
+    void dispatch(final String launchType,
+                  final Runnable handling,
+                  final Runnable onSuccess,
+                  final Consumer<RuntimeException> onFailure) {
+        final Semaphore permits = permitsOf(launchType);
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreValidD2ConservativeAdapterException("Interrupted while waiting for a dispatch slot", e);
+        }
+        final Dispatch dispatch = new Dispatch(launchType, handling, onSuccess, onFailure, permits);
+        try {
+            scheduler.submit(launchType, () -> attempt(dispatch, 1));
+        } catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getInFlightCount(final String launchType) {
+        return properties.maxInFlight() - permitsOf(launchType).availablePermits();
+    }
+
+    private Semaphore permitsOf(final String launchType) {
+        return MANUAL.equals(launchType) ? manualPermits : automaticPermits;
+    }
+
+    private void attempt(final Dispatch dispatch, final int attempt) {
+        try {
+            dispatch.handling().run();
+        } catch (final RuntimeException e) {
+            final Optional<Duration> retryDelay = transientFailureRetrier.retryDelay(e, attempt);
+            if (retryDelay.isPresent() && scheduleRetry(dispatch, attempt + 1, retryDelay.get())) {
+                // the slot stays taken until the retry is over
+                return;
+            }
+            LOGGER.error("Asynchronous {} handling failed", dispatch.launchType(), e);
+            complete(dispatch, () -> dispatch.onFailure().accept(e));
+            return;
+        }
+        complete(dispatch, dispatch.onSuccess());
+    }
+
+    private boolean scheduleRetry(final Dispatch dispatch, final int nextAttempt, final Duration delay) {
+        try {
+            retryTimer.schedule(() -> resubmit(dispatch, nextAttempt), delay.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void resubmit(final Dispatch dispatch, final int attempt) {
+        try {
+            scheduler.submit(dispatch.launchType(), () -> attempt(dispatch, attempt));
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Retry of {} handling dropped at shutdown, its message will be redelivered", dispatch.launchType(), e);
+            dispatch.permits().release();
+        }
+    }
+
+    private static void complete(final Dispatch dispatch, final Runnable outcome) {
+        try {
+            outcome.run();
+        } finally {
+            dispatch.permits().release();
+        }
+    }
+
+    /**
+     * Pending retries are dropped: their messages are not acknowledged and will be redelivered.
+     */
+    @PreDestroy
+    void shutdown() {
+        retryTimer.shutdownNow();
+    }
+
+    private void deadLetter(final Message<?> message, final String launchType, final RuntimeException failure) {
+        try {
+            deadLetterPublisher.publish(message, launchType, failure);
+            acknowledge(message.getHeaders());
+        } catch (final RuntimeException e) {
+            LOGGER.error("Failed to dead-letter message, it is rejected", e);
+            reject(message.getHeaders());
+        }
+    }
+
+    private static void acknowledge(final MessageHeaders headers) {
+        final Channel channel = headers.get(AmqpHeaders.CHANNEL, Channel.class);
+        final Long deliveryTag = headers.get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        if (channel != null && deliveryTag != null) {
+            try {
+                channel.basicAck(deliveryTag, false);
+            } catch (final IOException e) {
+                LOGGER.error("Failed to acknowledge message with delivery tag {}", deliveryTag, e);
+            }
+        }
+    }
+
+    private static void reject(final MessageHeaders headers) {
+        final Channel channel = headers.get(AmqpHeaders.CHANNEL, Channel.class);
+        final Long deliveryTag = headers.get(AmqpHeaders.DELIVERY_TAG, Long.class);
+        if (channel != null && deliveryTag != null) {
+            try {
+                channel.basicReject(deliveryTag, false);
+            } catch (final IOException e) {
+                LOGGER.error("Failed to reject message with delivery tag {}", deliveryTag, e);
+            }
+        }
+    }
+
+    private record Dispatch(String launchType,
+                            Runnable handling,
+                            Runnable onSuccess,
+                            Consumer<RuntimeException> onFailure,
+                            Semaphore permits) {
+    }
+}
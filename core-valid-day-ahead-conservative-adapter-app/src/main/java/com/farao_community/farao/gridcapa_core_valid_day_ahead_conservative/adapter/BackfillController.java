@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/backfills")
+@ConditionalOnProperty(name = "core-valid-d2-conservative-adapter.backfill.enabled", havingValue = "true")
+public class BackfillController {
+
+    private final BackfillService backfillService;
+
+    public BackfillController(final BackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BackfillProgress> startBackfill(@RequestBody final BackfillRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.start(request));
+    }
+
+    @GetMapping
+    public List<BackfillProgress> getBackfills() {
+        return backfillService.getJobs();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BackfillProgress> getBackfill(@PathVariable final UUID id) {
+        return ResponseEntity.of(backfillService.getProgress(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BackfillProgress> cancelBackfill(@PathVariable final UUID id) {
+        return ResponseEntity.of(backfillService.cancel(id));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidRequest(final IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
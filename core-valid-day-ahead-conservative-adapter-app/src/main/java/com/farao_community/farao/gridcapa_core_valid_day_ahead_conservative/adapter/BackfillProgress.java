@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot of a backfill job: {@code processed} counts the timestamps already done, whether their task was
+ * {@code notFound} in the task manager, {@code failed}, or handled with one of the {@code outcomes}.
+ * {@code skipped} counts the handled tasks whose newest run was not requested again because it had already been
+ * consumed ({@link HandlingOutcome#DUPLICATE}) or superseded ({@link HandlingOutcome#SUPERSEDED}).
+ */
+public record BackfillProgress(UUID id,
+                               OffsetDateTime from,
+                               OffsetDateTime to,
+                               String launchType,
+                               State state,
+                               int total,
+                               int processed,
+                               int notFound,
+                               int failed,
+                               int skipped,
+                               Map<HandlingOutcome, Integer> outcomes,
+                               Instant startedAt,
+                               Instant finishedAt) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+}
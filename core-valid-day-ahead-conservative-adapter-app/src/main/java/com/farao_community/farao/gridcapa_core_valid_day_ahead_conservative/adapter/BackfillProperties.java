@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The backfill API is unauthenticated and disabled by default: enable it only where the adapter port is not
+ * reachable from outside the platform.
+ */
+@ConfigurationProperties("core-valid-d2-conservative-adapter.backfill")
+public record BackfillProperties(@DefaultValue("false") boolean enabled,
+                                 @DefaultValue("4") int maxConcurrency,
+                                 @DefaultValue("1h") Duration step,
+                                 @DefaultValue("2000") int maxTimestamps,
+                                 @DefaultValue("50") int retainedJobs) {
+}
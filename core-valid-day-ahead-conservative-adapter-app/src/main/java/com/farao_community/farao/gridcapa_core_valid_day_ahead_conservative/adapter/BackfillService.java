@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.AUTOMATIC;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+/**
+ * Runs again every timestamp of a range: each task is read from the task manager and handled exactly as a
+ * task received from the broker, at most {@code max-concurrency} timestamps of a job queued or running at a time.
+ * Handlings run on the workers of the {@link PriorityDispatchScheduler}, with the retry and dead-letter policy of
+ * the asynchronous consumers. Jobs run in the background, report their progress and can be cancelled, in which
+ * case no more timestamps are submitted and handlings already submitted complete.
+ * Runs already consumed or superseded are not requested again, they are reported as skipped.
+ * Backfills are only available when enabled, and then need the task manager base URL.
+ */
+@Component
+@ConditionalOnProperty(name = "core-valid-d2-conservative-adapter.backfill.enabled", havingValue = "true")
+public class BackfillService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackfillService.class);
+
+    private final BackfillProperties properties;
+    private final TaskManagerClient taskManagerClient;
+    private final CoreValidD2ConservativeAdapterListener listener;
+    private final PriorityDispatchScheduler scheduler;
+    private final TransientFailureRetrier transientFailureRetrier;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final Map<UUID, BackfillJob> jobs = new LinkedHashMap<>();
+
+    public BackfillService(final BackfillProperties properties,
+                           final TaskManagerClient taskManagerClient,
+                           final CoreValidD2ConservativeAdapterListener listener,
+                           final PriorityDispatchScheduler scheduler,
+                           final TransientFailureRetrier transientFailureRetrier,
+                           final DeadLetterPublisher deadLetterPublisher) {
+        if (!taskManagerClient.isConfigured()) {
+            throw new IllegalArgumentException("core-valid-d2-conservative-adapter.task-manager.base-url must be set when backfills are enabled");
+        }
+        this.properties = properties;
+        this.taskManagerClient = taskManagerClient;
+        this.listener = listener;
+        this.scheduler = scheduler;
+        this.transientFailureRetrier = transientFailureRetrier;
+        this.deadLetterPublisher = deadLetterPublisher;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the range or the launch type is invalid
+     */
+    public BackfillProgress start(final BackfillRequest request) {
+        final String launchType = launchType(request.launchType());
+        final List<OffsetDateTime> timestamps = timestamps(request.from(), request.to());
+        final BackfillJob job = new BackfillJob(UUID.randomUUID(), request.from(), request.to(), launchType, timestamps.size(),
+                                              properties.maxConcurrency());
+        register(job);
+        final Function<TaskDto, HandlingOutcome> handler = AUTOMATIC.equals(launchType) ? listener::handleAutoTask : listener::handleManualTask;
+        LOGGER.info("Starting backfill {} of {} {} run requests from {} to {}", job.id, timestamps.size(), launchType, request.from(), request.to());
+        Thread.ofVirtual().name("backfill-" + job.id).start(() -> run(job, timestamps, handler));
+        return job.progress();
+    }
+
+    public Optional<BackfillProgress> getProgress(final UUID id) {
+        return findJob(id).map(BackfillJob::progress);
+    }
+
+    public List<BackfillProgress> getJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(BackfillJob::progress).toList();
+        }
+    }
+
+    public Optional<BackfillProgress> cancel(final UUID id) {
+        final Optional<BackfillJob> job = findJob(id);
+        job.ifPresent(BackfillJob::cancel);
+        return job.map(BackfillJob::progress);
+    }
+
+    BackfillProgress awaitCompletion(final UUID id, final Duration timeout) throws InterruptedException, ExecutionException, TimeoutException {
+        final BackfillJob job = findJob(id).orElseThrow();
+        job.done.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        return job.progress();
+    }
+
+    private void run(final BackfillJob job,
+                     final List<OffsetDateTime> timestamps,
+                     final Function<TaskDto, HandlingOutcome> handler) {
+        final List<CompletableFuture<Void>> handlings = new ArrayList<>();
+        try {
+            for (final OffsetDateTime timestamp : timestamps) {
+                if (!acquire(job)) {
+                    break;
+                }
+                final CompletableFuture<Void> handling = new CompletableFuture<>();
+                try {
+                    scheduler.submit(job.launchType, () -> {
+                        try {
+                            backfill(job, timestamp, handler);
+                        } finally {
+                            job.permits.release();
+                            handling.complete(null);
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Backfill {}: dispatch scheduler unavailable, backfill is cancelled", job.id, e);
+                    job.permits.release();
+                    job.cancelled.set(true);
+                    break;
+                }
+                handlings.add(handling);
+            }
+            // handlings already submitted complete even when the job is cancelled, nothing is interrupted
+            CompletableFuture.allOf(handlings.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            job.finish();
+            LOGGER.info("Backfill {} {}: {}", job.id, job.state.name().toLowerCase(Locale.ROOT), job.progress());
+        }
+    }
+
+    /**
+     * @return false if the job was cancelled while waiting for a free slot
+     */
+    private static boolean acquire(final BackfillJob job) {
+        if (job.cancelled.get()) {
+            return false;
+        }
+        try {
+            job.permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (job.cancelled.get()) {
+            job.permits.release();
+            return false;
+        }
+        return true;
+    }
+
+    private void backfill(final BackfillJob job,
+                          final OffsetDateTime timestamp,
+                          final Function<TaskDto, HandlingOutcome> handler) {
+        final AtomicReference<TaskDto> taskDto = new AtomicReference<>();
+        final AtomicReference<HandlingOutcome> outcome = new AtomicReference<>();
+        try {
+            transientFailureRetrier.run(() -> {
+                taskDto.set(taskManagerClient.getTask(timestamp).orElse(null));
+                if (taskDto.get() != null) {
+                    outcome.set(handler.apply(taskDto.get()));
+                }
+            });
+            if (taskDto.get() == null) {
+                LOGGER.warn("Backfill {}: no task found on TS {}", job.id, timestamp);
+                job.notFound.incrementAndGet();
+            } else {
+                job.handled(timestamp, outcome.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Backfill {}: interrupted during {} run request on TS {}", job.id, job.launchType, timestamp, e);
+            job.failed.incrementAndGet();
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Backfill {}: failed to handle {} run request on TS {}", job.id, job.launchType, timestamp, e);
+            job.failed.incrementAndGet();
+            if (taskDto.get() != null) {
+                deadLetter(job, taskDto.get(), e);
+            }
+        } finally {
+            job.processed.incrementAndGet();
+        }
+    }
+
+    private void deadLetter(final BackfillJob job, final TaskDto taskDto, final RuntimeException failure) {
+        try {
+            deadLetterPublisher.publish(taskDto, job.launchType, failure);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Backfill {}: failed to dead-letter {} run request on TS {}", job.id, job.launchType, taskDto.getTimestamp(), e);
+        }
+    }
+
+    private static String launchType(final String launchType) {
+        if (MANUAL.equalsIgnoreCase(launchType)) {
+            return MANUAL;
+        }
+        if (AUTOMATIC.equalsIgnoreCase(launchType)) {
+            return AUTOMATIC;
+        }
+        throw new IllegalArgumentException("Launch type must be %s or %s, got %s".formatted(MANUAL, AUTOMATIC, launchType));
+    }
+
+    private List<OffsetDateTime> timestamps(final OffsetDateTime from, final OffsetDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Backfill range must have a start before its end, got %s to %s".formatted(from, to));
+        }
+        final List<OffsetDateTime> timestamps = new ArrayList<>();
+        for (OffsetDateTime timestamp = from; timestamp.isBefore(to); timestamp = timestamp.plus(properties.step())) {
+            if (timestamps.size() == properties.maxTimestamps()) {
+                throw new IllegalArgumentException("Backfill range must not span more than %d timestamps".formatted(properties.maxTimestamps()));
+            }
+            timestamps.add(timestamp);
+        }
+        return timestamps;
+    }
+
+    private void register(final BackfillJob job) {
+        synchronized (jobs) {
+            final Iterator<BackfillJob> oldestFirst = jobs.values().iterator();
+            while (jobs.size() >= properties.retainedJobs() && oldestFirst.hasNext()) {
+                if (oldestFirst.next().state != BackfillProgress.State.RUNNING) {
+                    oldestFirst.remove();
+                }
+            }
+            jobs.put(job.id, job);
+        }
+    }
+
+    private Optional<BackfillJob> findJob(final UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private static final class BackfillJob {
+
+        private final UUID id;
+        private final OffsetDateTime from;
+        private final OffsetDateTime to;
+        private final String launchType;
+        private final int total;
+        private final Instant startedAt = Instant.now();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger notFound = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Map<HandlingOutcome, AtomicInteger> outcomes = new EnumMap<>(HandlingOutcome.class);
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Semaphore permits;
+        private volatile BackfillProgress.State state = BackfillProgress.State.RUNNING;
+        private volatile Instant finishedAt;
+
+        private BackfillJob(final UUID id,
+                            final OffsetDateTime from,
+                            final OffsetDateTime to,
+                            final String launchType,
+                            final int total,
+                            final int maxConcurrency) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.launchType = launchType;
+            this.total = total;
+            this.permits = new Semaphore(maxConcurrency);
+            for (final HandlingOutcome outcome : HandlingOutcome.values()) {
+                outcomes.put(outcome, new AtomicInteger());
+            }
+        }
+
+        private void handled(final OffsetDateTime timestamp, final HandlingOutcome outcome) {
+            if (isSkipped(outcome)) {
+                LOGGER.warn("Backfill {}: {} run request on TS {} skipped, its newest run was already handled ({})",
+                            id, launchType, timestamp, outcome);
+            }
+            outcomes.get(outcome).incrementAndGet();
+        }
+
+        private static boolean isSkipped(final HandlingOutcome outcome) {
+            return outcome == HandlingOutcome.DUPLICATE || outcome == HandlingOutcome.SUPERSEDED;
+        }
+
+        private void cancel() {
+            if (state == BackfillProgress.State.RUNNING && cancelled.compareAndSet(false, true)) {
+                LOGGER.info("Cancelling backfill {}", id);
+                // wakes the coordinator up if it waits for a free slot, it then sees the flag and stops
+                permits.release();
+            }
+        }
+
+        private void finish() {
+            finishedAt = Instant.now();
+            state = cancelled.get() ? BackfillProgress.State.CANCELLED : BackfillProgress.State.COMPLETED;
+            done.complete(null);
+        }
+
+        private BackfillProgress progress() {
+            final Map<HandlingOutcome, Integer> outcomeCounts = new EnumMap<>(HandlingOutcome.class);
+            outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.get()));
+            final int skipped = outcomeCounts.get(HandlingOutcome.DUPLICATE) + outcomeCounts.get(HandlingOutcome.SUPERSEDED);
+            return new BackfillProgress(id, from, to, launchType, state, total, processed.get(), notFound.get(), failed.get(),
+                                        skipped, outcomeCounts, startedAt, finishedAt);
+        }
+    }
+}
@@ -8,9 +8,11 @@ package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.ada
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SuppressWarnings("hideutilityclassconstructor")
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CoreValidD2ConservativeAdapterApplication {
     public static void main(final String[] args) {
         SpringApplication.run(CoreValidD2ConservativeAdapterApplication.class, args);
@@ -13,14 +13,25 @@ import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
 import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.resource.CoreValidD2ConservativeFileResource;
 import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.resource.CoreValidD2ConservativeRequest;
 import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
-import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -37,12 +48,45 @@ public class CoreValidD2ConservativeAdapterListener {
     public static final String CNEC_RAM = "CNEC-RAM";
     public static final String VERTICES = "VERTICES";
     private final CoreValidD2ConservativeClient coreValidD2ConservativeClient;
-    private final MinioAdapter minioAdapter;
+    private final PreSignedUrlCache preSignedUrlCache;
+    private final AsyncTaskDispatcher asyncTaskDispatcher;
+    private final TaskDeduplicator taskDeduplicator;
+    private final RunCoalescer runCoalescer;
+    private final AdapterMetrics adapterMetrics;
+    private final DeferredTaskScheduler deferredTaskScheduler;
+    private final FailureClassifier failureClassifier;
+    private final InputPreflightChecker inputPreflightChecker;
+    private final InputFileTypeRegistry inputFileTypeRegistry;
+    private final TransientFailureRetrier transientFailureRetrier;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final DispatchProperties dispatchProperties;
 
     public CoreValidD2ConservativeAdapterListener(final CoreValidD2ConservativeClient coreValidD2ConservativeClient,
-                                                  final MinioAdapter minioAdapter) {
+                                                  final PreSignedUrlCache preSignedUrlCache,
+                                                  final AsyncTaskDispatcher asyncTaskDispatcher,
+                                                  final TaskDeduplicator taskDeduplicator,
+                                                  final RunCoalescer runCoalescer,
+                                                  final AdapterMetrics adapterMetrics,
+                                                  final DeferredTaskScheduler deferredTaskScheduler,
+                                                  final FailureClassifier failureClassifier,
+                                                  final InputPreflightChecker inputPreflightChecker,
+                                                  final InputFileTypeRegistry inputFileTypeRegistry,
+                                                  final TransientFailureRetrier transientFailureRetrier,
+                                                  final DeadLetterPublisher deadLetterPublisher,
+                                                  final DispatchProperties dispatchProperties) {
         this.coreValidD2ConservativeClient = coreValidD2ConservativeClient;
-        this.minioAdapter = minioAdapter;
+        this.preSignedUrlCache = preSignedUrlCache;
+        this.asyncTaskDispatcher = asyncTaskDispatcher;
+        this.taskDeduplicator = taskDeduplicator;
+        this.runCoalescer = runCoalescer;
+        this.adapterMetrics = adapterMetrics;
+        this.deferredTaskScheduler = deferredTaskScheduler;
+        this.failureClassifier = failureClassifier;
+        this.inputPreflightChecker = inputPreflightChecker;
+        this.inputFileTypeRegistry = inputFileTypeRegistry;
+        this.transientFailureRetrier = transientFailureRetrier;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.dispatchProperties = dispatchProperties;
     }
 
     @Bean
@@ -55,32 +99,201 @@ public class CoreValidD2ConservativeAdapterListener {
         return this::handleAutoTask;
     }
 
-    private void handleAutoTask(final TaskDto taskDto) {
-        handleTask(taskDto, this::getAutomaticCoreValidD2ConservativeRequest, AUTOMATIC);
+    @Bean
+    public Consumer<Message<TaskDto>> consumeTaskAsync() {
+        return message -> dispatchAsync(message, MANUAL, () -> handleManualTask(message.getPayload()));
+    }
+
+    @Bean
+    public Consumer<Message<TaskDto>> consumeAutoTaskAsync() {
+        return message -> dispatchAsync(message, AUTOMATIC, () -> handleAutoTask(message.getPayload()));
     }
 
-    private void handleManualTask(final TaskDto taskDto) {
-        handleTask(taskDto, this::getManualCoreValidD2ConservativeRequest, MANUAL);
+    @Bean
+    public Consumer<List<TaskDto>> consumeTaskBatch() {
+        return taskDtos -> handleTaskBatch(taskDtos, this::getManualCoreValidD2ConservativeRequest, MANUAL);
+    }
+
+    @Bean
+    public Consumer<List<TaskDto>> consumeAutoTaskBatch() {
+        return taskDtos -> handleTaskBatch(taskDtos, this::getAutomaticCoreValidD2ConservativeRequest, AUTOMATIC);
     }
 
-    private void handleTask(final TaskDto taskDto,
-                            final Function<TaskDto, CoreValidD2ConservativeRequest> coreValidReqMapper,
-                            final String launchType) {
+    HandlingOutcome handleAutoTask(final TaskDto taskDto) {
+        return handleTask(taskDto, this::getAutomaticCoreValidD2ConservativeRequest, AUTOMATIC);
+    }
+
+    HandlingOutcome handleManualTask(final TaskDto taskDto) {
+        return handleTask(taskDto, this::getManualCoreValidD2ConservativeRequest, MANUAL);
+    }
+
+    private HandlingOutcome handleTask(final TaskDto taskDto,
+                                       final Function<TaskDto, CoreValidD2ConservativeRequest> coreValidReqMapper,
+                                       final String launchType) {
         final OffsetDateTime timestamp = taskDto.getTimestamp();
+        final Timer.Sample sample = adapterMetrics.startHandling();
+        HandlingOutcome outcome = HandlingOutcome.FAILED;
         try {
             if (isReadyOrFinished(taskDto)) {
                 LOGGER.info("Handling {} run request on TS {} ", launchType, timestamp);
-                final CoreValidD2ConservativeRequest request = coreValidReqMapper.apply(taskDto);
-                coreValidD2ConservativeClient.run(request);
+                if (!hasRunHistory(taskDto)) {
+                    outcome = HandlingOutcome.NO_RUN_HISTORY;
+                }
+                final ProcessRunDto currentRun = getCurrentRun(taskDto, AUTOMATIC.equals(launchType));
+                if (!runCoalescer.tryClaim(timestamp, currentRun)) {
+                    LOGGER.warn("Discarding {} run request on TS {} for run {} because a newer run is pending",
+                                launchType, timestamp, currentRun.getId());
+                    outcome = HandlingOutcome.SUPERSEDED;
+                    return outcome;
+                }
+                try {
+                    outcome = dispatchRun(taskDto, coreValidReqMapper, launchType, currentRun);
+                } finally {
+                    runCoalescer.release(timestamp, currentRun);
+                }
+            } else if (deferredTaskScheduler.isEnabled()
+                    && deferredTaskScheduler.park(taskDto, launchType, CoreValidD2ConservativeAdapterListener::isReadyOrFinished,
+                                                  readyTask -> handleTask(readyTask, coreValidReqMapper, launchType))) {
+                outcome = HandlingOutcome.PARKED;
             } else {
                 LOGGER.warn("Failed to handle {} run request on timestamp {} because it is not ready yet",
                             launchType, timestamp);
+                outcome = HandlingOutcome.NOT_READY;
             }
-        } catch (final Exception e) {
-            throw new CoreValidD2ConservativeAdapterException(String.format("Error during handling of %s run request on TS %s",
+            return outcome;
+        } catch (final MissingInputException e) {
+            if (deferredTaskScheduler.isEnabled()
+                    && deferredTaskScheduler.park(taskDto, launchType, this::isReadyWithAvailableInputs,
+                                                  readyTask -> handleTask(readyTask, coreValidReqMapper, launchType))) {
+                LOGGER.warn("Parking {} run request on TS {} until its input files are available: {}",
+                            launchType, timestamp, e.getMessage());
+                outcome = HandlingOutcome.PARKED;
+                return outcome;
+            }
+            throw new CoreValidD2ConservativeAdapterException(String.format("Error during handling of %s run request on TS %s (non-retryable failure)",
                                                                             launchType, timestamp), e);
+        } catch (final Exception e) {
+            final String failureType = failureClassifier.isTransient(e) ? "transient" : "non-retryable";
+            throw new CoreValidD2ConservativeAdapterException(String.format("Error during handling of %s run request on TS %s (%s failure)",
+                                                                            launchType, timestamp, failureType), e);
+        } finally {
+            adapterMetrics.stopHandling(sample, launchType, taskDto.getStatus(), outcome);
         }
+    }
 
+    private HandlingOutcome dispatchRun(final TaskDto taskDto,
+                                        final Function<TaskDto, CoreValidD2ConservativeRequest> coreValidReqMapper,
+                                        final String launchType,
+                                        final ProcessRunDto currentRun) {
+        final OffsetDateTime timestamp = taskDto.getTimestamp();
+        final String runId = currentRun.getId().toString();
+        if (!taskDeduplicator.tryRegister(taskDto.getId(), runId)) {
+            LOGGER.warn("Dropping duplicated {} run request on TS {} for run {}", launchType, timestamp, runId);
+            return HandlingOutcome.DUPLICATE;
+        }
+        try {
+            final CoreValidD2ConservativeRequest request = adapterMetrics.recordMapping(() -> coreValidReqMapper.apply(taskDto));
+            if (runCoalescer.isSuperseded(timestamp, currentRun)) {
+                LOGGER.warn("Discarding {} run request on TS {} for run {} because a newer run superseded it",
+                            launchType, timestamp, runId);
+                taskDeduplicator.unregister(taskDto.getId(), runId);
+                return HandlingOutcome.SUPERSEDED;
+            }
+            adapterMetrics.recordRunnerDispatch(() -> coreValidD2ConservativeClient.run(request));
+            runCoalescer.recordDispatched(timestamp, currentRun);
+            return HandlingOutcome.DISPATCHED;
+        } catch (final RuntimeException e) {
+            taskDeduplicator.unregister(taskDto.getId(), runId);
+            throw e;
+        }
+    }
+
+    private void dispatchAsync(final Message<TaskDto> message, final String launchType, final Runnable handling) {
+        final TaskDto taskDto = message.getPayload();
+        final Optional<ProcessRunDto> pendingRun = claimPendingRun(taskDto);
+        try {
+            asyncTaskDispatcher.dispatch(message, launchType, handling);
+        } catch (final RuntimeException e) {
+            // the handling will never run to release the claim, which would then discard every older run of the timestamp
+            pendingRun.ifPresent(run -> runCoalescer.release(taskDto.getTimestamp(), run));
+            throw e;
+        }
+    }
+
+    /**
+     * Registers the run of a message as pending as soon as it is received, so that older runs
+     * for the same timestamp already waiting for a dispatch slot get discarded.
+     *
+     * @return the run if it now holds the claim of its timestamp
+     */
+    private Optional<ProcessRunDto> claimPendingRun(final TaskDto taskDto) {
+        if (isReadyOrFinished(taskDto) && hasRunHistory(taskDto)) {
+            final ProcessRunDto run = getCurrentRun(taskDto, false);
+            if (runCoalescer.tryClaim(taskDto.getTimestamp(), run)) {
+                return Optional.of(run);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tasks of a batch are handled concurrently on virtual threads, at most {@link DispatchProperties#batchMaxInFlight()}
+     * at a time, so that URL signing and runner handoff of all the timestamps of a business day overlap.
+     * Each task gets the failure policy of a single message: transient failures are retried, then the task is
+     * dead-lettered on its own, so that a failing task neither blocks nor replays the others.
+     * The batch is only failed (and thus redelivered) when a failed task could not be dead-lettered.
+     */
+    private void handleTaskBatch(final List<TaskDto> taskDtos,
+                                 final Function<TaskDto, CoreValidD2ConservativeRequest> coreValidReqMapper,
+                                 final String launchType) {
+        LOGGER.info("Handling batch of {} {} run requests", taskDtos.size(), launchType);
+        final Semaphore permits = new Semaphore(dispatchProperties.batchMaxInFlight());
+        final List<Future<Boolean>> handlings = new ArrayList<>(taskDtos.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (final TaskDto taskDto : taskDtos) {
+                permits.acquire();
+                handlings.add(executor.submit(() -> {
+                    try {
+                        return handleBatchedTask(taskDto, coreValidReqMapper, launchType);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreValidD2ConservativeAdapterException("Interrupted during handling of %s run request batch".formatted(launchType), e);
+        }
+        int failures = 0;
+        for (final Future<Boolean> handling : handlings) {
+            try {
+                if (!handling.get()) {
+                    failures++;
+                }
+            } catch (final ExecutionException e) {
+                throw new CoreValidD2ConservativeAdapterException("Failed to dead-letter a %s run request of the batch".formatted(launchType), e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CoreValidD2ConservativeAdapterException("Interrupted during handling of %s run request batch".formatted(launchType), e);
+            }
+        }
+        LOGGER.info("Handled batch of {} {} run requests with {} dead-lettered", taskDtos.size(), launchType, failures);
+    }
+
+    /**
+     * @return false if the task failed and was dead-lettered
+     */
+    private boolean handleBatchedTask(final TaskDto taskDto,
+                                      final Function<TaskDto, CoreValidD2ConservativeRequest> coreValidReqMapper,
+                                      final String launchType) throws InterruptedException {
+        try {
+            transientFailureRetrier.run(() -> handleTask(taskDto, coreValidReqMapper, launchType));
+            return true;
+        } catch (final RuntimeException e) {
+            LOGGER.error("Batch {} run request on TS {} failed", launchType, taskDto.getTimestamp(), e);
+            deadLetterPublisher.publish(taskDto, launchType, e);
+            return false;
+        }
     }
 
     private static boolean isReadyOrFinished(final TaskDto taskDto) {
@@ -88,6 +301,20 @@ public class CoreValidD2ConservativeAdapterListener {
         return status == READY || status == SUCCESS || status == ERROR;
     }
 
+    /**
+     * Parked tasks with missing inputs are only handed back once every input file shows up, so that a task whose
+     * files never arrive is dropped at the deadline instead of being parked over and over.
+     */
+    private boolean isReadyWithAvailableInputs(final TaskDto taskDto) {
+        return isReadyOrFinished(taskDto)
+                && prepareInputs(inputFileTypeRegistry.resolve(taskDto.getInputs())).values().stream().allMatch(PreparedInput::available);
+    }
+
+    private static boolean hasRunHistory(final TaskDto taskDto) {
+        final List<ProcessRunDto> runHistory = taskDto.getRunHistory();
+        return runHistory != null && !runHistory.isEmpty();
+    }
+
     CoreValidD2ConservativeRequest getManualCoreValidD2ConservativeRequest(final TaskDto taskDto) {
         return getCoreValidD2ConservativeRequest(taskDto, false);
     }
@@ -98,34 +325,77 @@ public class CoreValidD2ConservativeAdapterListener {
 
     private CoreValidD2ConservativeRequest getCoreValidD2ConservativeRequest(final TaskDto taskDto,
                                                                              final boolean isAuto) {
-        CoreValidD2ConservativeFileResource cnecRam = null;
-        CoreValidD2ConservativeFileResource vertices = null;
-
-        for (final ProcessFileDto input : taskDto.getInputs()) {
-            final String fileType = input.getFileType();
-            final String fileUrl = minioAdapter.generatePreSignedUrlFromFullMinioPath(input.getFilePath(), 1);
-            final String fileName = input.getFilename();
-            switch (fileType) {
-                case CNEC_RAM -> cnecRam = new CoreValidD2ConservativeFileResource(fileName, fileUrl);
-                case VERTICES -> vertices = new CoreValidD2ConservativeFileResource(fileName, fileUrl);
-                default -> throw new IllegalStateException("Unexpected value: " + fileType);
-            }
+        final Map<InputFileRole, ProcessFileDto> inputs = inputFileTypeRegistry.resolve(taskDto.getInputs());
+        final String runId = getCurrentRunId(taskDto, isAuto);
+        final Map<InputFileRole, PreparedInput> preparedInputs = prepareInputs(inputs);
+        final List<String> missingFiles = preparedInputs.values().stream()
+                .filter(preparedInput -> !preparedInput.available())
+                .map(preparedInput -> preparedInput.fileResource().getFilename())
+                .toList();
+        if (!missingFiles.isEmpty()) {
+            throw new MissingInputException(missingFiles);
         }
         return new CoreValidD2ConservativeRequest(
                 taskDto.getId().toString(),
-                getCurrentRunId(taskDto, isAuto),
+                runId,
                 taskDto.getTimestamp(),
-                cnecRam,
-                vertices,
+                fileResource(preparedInputs, InputFileRole.CNEC_RAM),
+                fileResource(preparedInputs, InputFileRole.VERTICES),
                 isAuto,
                 taskDto.getParameters()
         );
     }
 
-    private String getCurrentRunId(final TaskDto taskDto,
-                                   final boolean isAuto) {
-        final List<ProcessRunDto> runHistory = taskDto.getRunHistory();
-        if (runHistory == null || runHistory.isEmpty()) {
+    private static CoreValidD2ConservativeFileResource fileResource(final Map<InputFileRole, PreparedInput> preparedInputs,
+                                                                    final InputFileRole role) {
+        final PreparedInput preparedInput = preparedInputs.get(role);
+        return preparedInput == null ? null : preparedInput.fileResource();
+    }
+
+    /**
+     * Input files are signed, and checked in MinIO when the pre-flight check is enabled, concurrently on virtual
+     * threads, so that a task costs the latency of its slowest file rather than the sum of all of them.
+     */
+    private Map<InputFileRole, PreparedInput> prepareInputs(final Map<InputFileRole, ProcessFileDto> inputs) {
+        final Map<InputFileRole, PreparedInput> preparedInputs = new EnumMap<>(InputFileRole.class);
+        if (inputs.size() < 2) {
+            inputs.forEach((role, input) -> preparedInputs.put(role, prepareInput(input)));
+            return preparedInputs;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Map<InputFileRole, Future<PreparedInput>> preparations = new EnumMap<>(InputFileRole.class);
+            inputs.forEach((role, input) -> preparations.put(role, executor.submit(() -> prepareInput(input))));
+            for (final Map.Entry<InputFileRole, Future<PreparedInput>> preparation : preparations.entrySet()) {
+                preparedInputs.put(preparation.getKey(), preparation.getValue().get());
+            }
+            return preparedInputs;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CoreValidD2ConservativeAdapterException("Failed to prepare input files", e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreValidD2ConservativeAdapterException("Interrupted while preparing input files", e);
+        }
+    }
+
+    private PreparedInput prepareInput(final ProcessFileDto input) {
+        final String fileName = input.getFilename();
+        final String fileUrl = preSignedUrlCache.getPreSignedUrl(input.getFilePath());
+        final boolean available = !inputPreflightChecker.isEnabled()
+                || adapterMetrics.recordInputCheck(() -> inputPreflightChecker.isAvailable(fileName, fileUrl));
+        return new PreparedInput(new CoreValidD2ConservativeFileResource(fileName, fileUrl), available);
+    }
+
+    String getCurrentRunId(final TaskDto taskDto,
+                           final boolean isAuto) {
+        return getCurrentRun(taskDto, isAuto).getId().toString();
+    }
+
+    private ProcessRunDto getCurrentRun(final TaskDto taskDto,
+                                        final boolean isAuto) {
+        if (!hasRunHistory(taskDto)) {
             final String launchType = isAuto ? AUTOMATIC : MANUAL;
             LOGGER.warn("Failed to handle {} run request on timestamp {} because it has no run history",
                         launchType,
@@ -133,9 +403,12 @@ public class CoreValidD2ConservativeAdapterListener {
             throw new CoreValidD2ConservativeAdapterException("Failed to handle %s run request on timestamp because it has no run history"
                                                                       .formatted(launchType));
         }
-        runHistory.sort((run1, run2) ->
-                                run2.getExecutionDate().compareTo(run1.getExecutionDate()));
+        // single pass without sorting: the run history may be immutable and is not ours to reorder
+        return taskDto.getRunHistory().stream()
+                .max(Comparator.comparing(ProcessRunDto::getExecutionDate))
+                .orElseThrow();
+    }
 
-        return runHistory.getFirst().getId().toString();
+    private record PreparedInput(CoreValidD2ConservativeFileResource fileResource, boolean available) {
     }
 }
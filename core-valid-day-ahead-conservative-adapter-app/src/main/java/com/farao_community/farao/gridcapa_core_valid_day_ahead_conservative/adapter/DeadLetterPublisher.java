@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Dead-letters single tasks whose message cannot be rejected on its own (tasks of a batch, parked tasks,
+ * asynchronous handlings acknowledged by the {@link AsyncTaskDispatcher}).
+ * Dead letters carry the same exception headers as the ones republished by the binder, so that they can be
+ * investigated and replayed the same way.
+ */
+@Component
+public class DeadLetterPublisher {
+
+    public static final String BINDING = "taskDeadLetter-out-0";
+    public static final String LAUNCH_TYPE_HEADER = "x-launch-type";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetterPublisher.class);
+
+    private final StreamBridge streamBridge;
+
+    public DeadLetterPublisher(final StreamBridge streamBridge) {
+        this.streamBridge = streamBridge;
+    }
+
+    public void publish(final TaskDto taskDto, final String launchType, final Throwable failure) {
+        send(taskDto, launchType, failure, "%s run request on TS %s".formatted(launchType, taskDto.getTimestamp()));
+    }
+
+    /**
+     * Dead-letters the payload of a consumed message, for handlings that acknowledge their message themselves.
+     */
+    public void publish(final Message<?> message, final String launchType, final Throwable failure) {
+        send(message.getPayload(), launchType, failure,
+             "%s run request with delivery tag %s".formatted(launchType, message.getHeaders().get(AmqpHeaders.DELIVERY_TAG)));
+    }
+
+    private void send(final Object payload, final String launchType, final Throwable failure, final String description) {
+        final StringWriter stackTrace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(stackTrace));
+        final boolean sent = streamBridge.send(BINDING, MessageBuilder.withPayload(payload)
+                .setHeader(RepublishMessageRecoverer.X_EXCEPTION_MESSAGE, String.valueOf(failure.getMessage()))
+                .setHeader(RepublishMessageRecoverer.X_EXCEPTION_STACKTRACE, stackTrace.toString())
+                .setHeader(LAUNCH_TYPE_HEADER, launchType)
+                .build());
+        if (!sent) {
+            throw new CoreValidD2ConservativeAdapterException("Failed to dead-letter " + description);
+        }
+        LOGGER.warn("Dead-lettered {}", description);
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("core-valid-d2-conservative-adapter.deduplication")
+public record DeduplicationProperties(@DefaultValue("true") boolean enabled,
+                                      @DefaultValue("10000") int maxSize,
+                                      @DefaultValue("1h") Duration window) {
+}
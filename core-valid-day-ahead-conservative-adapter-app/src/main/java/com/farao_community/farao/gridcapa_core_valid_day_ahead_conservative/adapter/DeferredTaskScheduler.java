@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Parks tasks received while not ready yet instead of dropping them. Each parked task is re-read from the task
+ * manager with an exponential backoff and handed back to its handler as soon as it is ready, or dead-lettered once
+ * its deadline is reached. A timestamp is parked at most once per launch type: parking it again replaces the task
+ * but keeps the original deadline.
+ * Re-reads run on virtual threads, the timer thread only triggers them, and ready tasks are dispatched through the
+ * {@link AsyncTaskDispatcher}, sharing the workers, priorities and in-flight slots of the consumed messages.
+ * A failed handling of a ready task gets the policy of a consumed message: transient failures are retried,
+ * then parked again until the deadline, other failures are dead-lettered right away.
+ * Deferred retries need the task manager base URL, the application does not start without it when they are enabled.
+ */
+@Component
+public class DeferredTaskScheduler implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeferredTaskScheduler.class);
+
+    private final DeferredRetryProperties properties;
+    private final TaskManagerClient taskManagerClient;
+    private final AsyncTaskDispatcher asyncTaskDispatcher;
+    private final FailureClassifier failureClassifier;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final Clock clock;
+    private final Map<String, ParkedTask> parkedTasks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("deferred-task-timer").daemon().factory());
+    private final ExecutorService recheckExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("deferred-task-recheck-", 0).factory());
+
+    @Autowired
+    public DeferredTaskScheduler(final DeferredRetryProperties properties,
+                                 final TaskManagerClient taskManagerClient,
+                                 final AsyncTaskDispatcher asyncTaskDispatcher,
+                                 final FailureClassifier failureClassifier,
+                                 final DeadLetterPublisher deadLetterPublisher) {
+        this(properties, taskManagerClient, asyncTaskDispatcher, failureClassifier, deadLetterPublisher, Clock.systemUTC());
+    }
+
+    DeferredTaskScheduler(final DeferredRetryProperties properties,
+                          final TaskManagerClient taskManagerClient,
+                          final AsyncTaskDispatcher asyncTaskDispatcher,
+                          final FailureClassifier failureClassifier,
+                          final DeadLetterPublisher deadLetterPublisher,
+                          final Clock clock) {
+        if (properties.enabled() && !taskManagerClient.isConfigured()) {
+            throw new IllegalArgumentException("core-valid-d2-conservative-adapter.task-manager.base-url must be set when deferred retries are enabled");
+        }
+        this.properties = properties;
+        this.taskManagerClient = taskManagerClient;
+        this.asyncTaskDispatcher = asyncTaskDispatcher;
+        this.failureClassifier = failureClassifier;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return false if the task could not be parked because too many tasks are already parked
+     */
+    public boolean park(final TaskDto taskDto,
+                        final String launchType,
+                        final Predicate<TaskDto> isReady,
+                        final Consumer<TaskDto> handler) {
+        final String key = key(taskDto.getTimestamp(), launchType);
+        final ParkedTask parkedTask;
+        synchronized (parkedTasks) {
+            // capacity check and insertion under the same lock, so that concurrent parkings never exceed the limit
+            if (!parkedTasks.containsKey(key) && parkedTasks.size() >= properties.maxParkedTasks()) {
+                return false;
+            }
+            parkedTask = parkedTasks.compute(key, (k, existing) -> new ParkedTask(
+                    taskDto,
+                    launchType,
+                    isReady,
+                    handler,
+                    existing == null ? clock.instant() : existing.parkedAt()));
+        }
+        LOGGER.info("Parking {} run request on TS {} until it is ready", launchType, taskDto.getTimestamp());
+        schedule(key, parkedTask, properties.initialDelay());
+        return true;
+    }
+
+    public int getParkedCount() {
+        return parkedTasks.size();
+    }
+
+    public Duration getOldestParkedAge() {
+        final Instant now = clock.instant();
+        return parkedTasks.values().stream()
+                .map(parkedTask -> Duration.between(parkedTask.parkedAt(), now))
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(AdapterMetrics.PREFIX + ".parked.tasks", this, DeferredTaskScheduler::getParkedCount)
+                .description("Number of not ready tasks waiting to be re-evaluated")
+                .register(registry);
+        Gauge.builder(AdapterMetrics.PREFIX + ".parked.oldest.age", this, scheduler -> scheduler.getOldestParkedAge().toMillis())
+                .description("Age of the oldest parked task")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void schedule(final String key, final ParkedTask parkedTask, final Duration delay) {
+        timer.schedule(() -> startRecheck(key, parkedTask, delay), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void startRecheck(final String key, final ParkedTask parkedTask, final Duration delay) {
+        try {
+            recheckExecutor.execute(() -> recheck(key, parkedTask, delay));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Re-evaluation of parked {} run request on TS {} dropped at shutdown", parkedTask.launchType(), parkedTask.timestamp());
+        }
+    }
+
+    private void recheck(final String key, final ParkedTask parkedTask, final Duration previousDelay) {
+        if (parkedTasks.get(key) != parkedTask) {
+            // the task was parked again in the meantime, only its latest parking is re-evaluated
+            return;
+        }
+        final OffsetDateTime timestamp = parkedTask.timestamp();
+        try {
+            final Optional<TaskDto> refreshedTask = taskManagerClient.getTask(timestamp).filter(parkedTask.isReady());
+            if (refreshedTask.isPresent() && parkedTasks.remove(key, parkedTask)) {
+                LOGGER.info("Parked {} run request on TS {} is now ready, dispatching it", parkedTask.launchType(), timestamp);
+                dispatch(key, parkedTask, refreshedTask.get(), previousDelay);
+                return;
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to re-evaluate parked {} run request on TS {}", parkedTask.launchType(), timestamp, e);
+        }
+        final Duration nextDelay = nextDelay(previousDelay);
+        if (isPastDeadline(parkedTask, nextDelay)) {
+            if (parkedTasks.remove(key, parkedTask)) {
+                deadLetter(parkedTask, parkedTask.taskDto(), new CoreValidD2ConservativeAdapterException(
+                        "%s run request on TS %s was not ready before the deadline".formatted(parkedTask.launchType(), timestamp)));
+            }
+            return;
+        }
+        schedule(key, parkedTask, nextDelay);
+    }
+
+    private Duration nextDelay(final Duration previousDelay) {
+        final long nextDelayMillis = (long) (previousDelay.toMillis() * properties.multiplier());
+        return Duration.ofMillis(Math.min(nextDelayMillis, properties.maxDelay().toMillis()));
+    }
+
+    private boolean isPastDeadline(final ParkedTask parkedTask, final Duration nextDelay) {
+        return clock.instant().plus(nextDelay).isAfter(parkedTask.parkedAt().plus(properties.deadline()));
+    }
+
+    /**
+     * Blocks the re-evaluation thread while the in-flight slots of the launch type are all taken.
+     */
+    private void dispatch(final String key, final ParkedTask parkedTask, final TaskDto taskDto, final Duration previousDelay) {
+        try {
+            asyncTaskDispatcher.dispatch(parkedTask.launchType(),
+                                         () -> parkedTask.handler().accept(taskDto),
+                                         () -> { },
+                                         failure -> handleFailure(key, parkedTask, taskDto, previousDelay, failure));
+        } catch (final RuntimeException e) {
+            deadLetter(parkedTask, taskDto, e);
+        }
+    }
+
+    private void handleFailure(final String key,
+                               final ParkedTask parkedTask,
+                               final TaskDto taskDto,
+                               final Duration previousDelay,
+                               final RuntimeException failure) {
+        if (failureClassifier.isTransient(failure) && repark(key, parkedTask, taskDto, previousDelay)) {
+            LOGGER.warn("Dispatch of parked {} run request on TS {} failed, parking it again",
+                        parkedTask.launchType(), parkedTask.timestamp(), failure);
+            return;
+        }
+        deadLetter(parkedTask, taskDto, failure);
+    }
+
+    /**
+     * @return false if the task could not be parked again because its deadline is reached, the scheduler is full,
+     * or the timestamp was parked again in the meantime
+     */
+    private boolean repark(final String key, final ParkedTask parkedTask, final TaskDto taskDto, final Duration previousDelay) {
+        final Duration nextDelay = nextDelay(previousDelay);
+        if (isPastDeadline(parkedTask, nextDelay)) {
+            return false;
+        }
+        final ParkedTask reparkedTask = parkedTask.withTask(taskDto);
+        synchronized (parkedTasks) {
+            if (parkedTasks.size() >= properties.maxParkedTasks() || parkedTasks.putIfAbsent(key, reparkedTask) != null) {
+                return false;
+            }
+        }
+        schedule(key, reparkedTask, nextDelay);
+        return true;
+    }
+
+    private void deadLetter(final ParkedTask parkedTask, final TaskDto taskDto, final Throwable failure) {
+        LOGGER.error("Parked {} run request on TS {} failed, dead-lettering it", parkedTask.launchType(), parkedTask.timestamp(), failure);
+        try {
+            deadLetterPublisher.publish(taskDto, parkedTask.launchType(), failure);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Dropping parked {} run request on TS {} because it could not be dead-lettered",
+                         parkedTask.launchType(), parkedTask.timestamp(), e);
+        }
+    }
+
+    private static String key(final OffsetDateTime timestamp, final String launchType) {
+        return timestamp.toInstant() + "/" + launchType;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        recheckExecutor.shutdownNow();
+        if (!parkedTasks.isEmpty()) {
+            LOGGER.warn("{} parked run requests dropped at shutdown", parkedTasks.size());
+        }
+    }
+
+    private record ParkedTask(TaskDto taskDto,
+                              String launchType,
+                              Predicate<TaskDto> isReady,
+                              Consumer<TaskDto> handler,
+                              Instant parkedAt) {
+
+        OffsetDateTime timestamp() {
+            return taskDto.getTimestamp();
+        }
+
+        ParkedTask withTask(final TaskDto refreshedTask) {
+            return new ParkedTask(refreshedTask, launchType, isReady, handler, parkedAt);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * The in-flight limit (queued, running and retry-pending handlings) applies to each launch type and should match
+ * the RabbitMQ prefetch of each asynchronous binding: once it is reached the consumer thread of that binding blocks
+ * and the broker stops delivering to it.
+ * When both queues are non-empty, workers take up to {@code manualWeight} manual handlings
+ * for {@code automaticWeight} automatic ones, unless the oldest automatic handling has been waiting
+ * for more than {@code automaticMaxWait}.
+ * Tasks of a consumed batch are handled at most {@code batchMaxInFlight} at a time.
+ * Limits, worker count and weights must be at least 1: a zero weight would starve its queue.
+ */
+@Validated
+@ConfigurationProperties("core-valid-d2-conservative-adapter.dispatch")
+public record DispatchProperties(@DefaultValue("16") @Min(1) int maxInFlight,
+                                 @DefaultValue("4") @Min(1) int workers,
+                                 @DefaultValue("4") @Min(1) int manualWeight,
+                                 @DefaultValue("1") @Min(1) int automaticWeight,
+                                 @DefaultValue("2m") Duration automaticMaxWait,
+                                 @DefaultValue("30s") Duration shutdownTimeout,
+                                 @DefaultValue("16") @Min(1) int batchMaxInFlight) {
+}
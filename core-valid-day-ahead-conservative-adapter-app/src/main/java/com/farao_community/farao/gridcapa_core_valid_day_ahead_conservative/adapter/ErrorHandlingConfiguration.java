@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.cloud.stream.annotation.StreamRetryTemplate;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.support.RetryTemplate;
+
+/**
+ * Retry policy of the binder-driven (synchronous and batch) consumers, built from {@link ErrorHandlingProperties}
+ * like the in-process retries of the {@link TransientFailureRetrier}, so that transient exceptions and backoff are
+ * configured in one place only.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ErrorHandlingConfiguration {
+
+    @StreamRetryTemplate
+    RetryTemplate consumerRetryTemplate(final ErrorHandlingProperties properties) {
+        return RetryTemplate.builder()
+                .maxAttempts(properties.maxAttempts())
+                .exponentialBackoff(properties.initialInterval().toMillis(),
+                                    properties.multiplier(),
+                                    properties.maxInterval().toMillis())
+                .retryOn(properties.transientExceptions())
+                .traversingCauses()
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Retry policy of the adapter: used in process by the {@link TransientFailureRetrier} (asynchronous dispatch,
+ * batches, parked tasks) and by the binder for the synchronous bindings through {@link ErrorHandlingConfiguration}.
+ */
+@ConfigurationProperties("core-valid-d2-conservative-adapter.error-handling")
+public record ErrorHandlingProperties(@DefaultValue("4") int maxAttempts,
+                                      @DefaultValue("1s") Duration initialInterval,
+                                      @DefaultValue("2.0") double multiplier,
+                                      @DefaultValue("10s") Duration maxInterval,
+                                      @DefaultValue({"java.io.IOException",
+                                                     "org.springframework.web.client.ResourceAccessException",
+                                                     "org.springframework.amqp.AmqpConnectException",
+                                                     "org.springframework.amqp.AmqpIOException",
+                                                     "io.minio.errors.MinioException"})
+                                      List<Class<? extends Throwable>> transientExceptions) {
+}
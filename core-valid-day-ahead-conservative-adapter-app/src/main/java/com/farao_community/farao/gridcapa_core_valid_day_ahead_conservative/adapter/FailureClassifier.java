@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells transient failures (MinIO, task manager or broker connectivity), worth retrying, from failures that
+ * can never succeed on retry (unexpected input file type, missing run history...), whose messages must go
+ * straight to the dead-letter queue instead of burning consumer throughput.
+ */
+@Component
+public class FailureClassifier {
+
+    private final ErrorHandlingProperties properties;
+
+    public FailureClassifier(final ErrorHandlingProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isTransient(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            final Class<? extends Throwable> causeClass = cause.getClass();
+            if (properties.transientExceptions().stream().anyMatch(transientClass -> transientClass.isAssignableFrom(causeClass))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
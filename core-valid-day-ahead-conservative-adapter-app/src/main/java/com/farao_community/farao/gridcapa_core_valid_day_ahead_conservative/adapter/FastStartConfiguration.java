@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.function.Consumer;
+
+/**
+ * With the fast-start profile, which enables lazy initialization, beans on the message path are still created at
+ * startup, so that the first consumed message does not pay for their creation: only beans off the message path
+ * (backfill API, servlet infrastructure...) are deferred until first use.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-start")
+public class FastStartConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter messagePathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(Consumer.class,
+                                                            CoreValidD2ConservativeAdapterListener.class,
+                                                            LeanTaskDtoMessageConverter.class,
+                                                            AsyncTaskDispatcher.class,
+                                                            PriorityDispatchScheduler.class,
+                                                            TaskDeduplicator.class,
+                                                            RunCoalescer.class,
+                                                            DeferredTaskScheduler.class,
+                                                            FailureClassifier.class,
+                                                            TransientFailureRetrier.class,
+                                                            DeadLetterPublisher.class,
+                                                            AdapterMetrics.class,
+                                                            PreSignedUrlCache.class,
+                                                            InputPreflightChecker.class,
+                                                            InputFileTypeRegistry.class,
+                                                            MinioAdapter.class,
+                                                            CoreValidD2ConservativeClient.class);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Table-driven resolution of task input files into their role in the runner request, replacing a fixed set of
+ * supported file types: supporting a new type, or ignoring one, is a configuration change.
+ */
+@Component
+public class InputFileTypeRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputFileTypeRegistry.class);
+
+    private final Map<String, InputFileRole> rolesByType;
+    private final Set<String> mandatoryTypes;
+    private final InputFilesProperties.UnknownTypePolicy unknownTypePolicy;
+
+    public InputFileTypeRegistry(final InputFilesProperties properties) {
+        final Map<String, InputFileRole> roles = new HashMap<>();
+        properties.types().forEach((fileType, role) -> roles.put(normalize(fileType), role));
+        this.rolesByType = Map.copyOf(roles);
+        this.mandatoryTypes = properties.mandatory().stream().map(InputFileTypeRegistry::normalize).collect(Collectors.toUnmodifiableSet());
+        this.unknownTypePolicy = properties.unknownTypePolicy();
+    }
+
+    /**
+     * @return the files to pass on to the runner by role, ignored and unknown types left out; when several files
+     * have the same role, the last one is kept
+     * @throws CoreValidD2ConservativeAdapterException if a mandatory type is missing, or on an unknown type with
+     * the fail policy
+     */
+    public Map<InputFileRole, ProcessFileDto> resolve(final List<ProcessFileDto> inputs) {
+        final Map<InputFileRole, ProcessFileDto> resolvedInputs = new EnumMap<>(InputFileRole.class);
+        final Set<String> presentTypes = new HashSet<>();
+        for (final ProcessFileDto input : inputs) {
+            final String fileType = normalize(input.getFileType());
+            presentTypes.add(fileType);
+            final InputFileRole role = rolesByType.get(fileType);
+            if (role == null) {
+                if (unknownTypePolicy == InputFilesProperties.UnknownTypePolicy.FAIL) {
+                    throw new CoreValidD2ConservativeAdapterException("Unexpected input file type: " + input.getFileType());
+                }
+                LOGGER.info("Ignoring input file {} of unknown type {}", input.getFilename(), input.getFileType());
+            } else if (role != InputFileRole.IGNORED) {
+                resolvedInputs.put(role, input);
+            }
+        }
+        if (!presentTypes.containsAll(mandatoryTypes)) {
+            final Set<String> missingTypes = new HashSet<>(mandatoryTypes);
+            missingTypes.removeAll(presentTypes);
+            throw new CoreValidD2ConservativeAdapterException("Mandatory input file types missing from task: " + String.join(", ", missingTypes));
+        }
+        return resolvedInputs;
+    }
+
+    private static String normalize(final String fileType) {
+        return fileType == null ? "" : fileType.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.CNEC_RAM;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.VERTICES;
+
+/**
+ * Role of each task manager file type (case-insensitive, use the {@code "[FILE-TYPE]"} key syntax), added to the
+ * CNEC-RAM and VERTICES defaults, types that every task must carry (none by default: a task missing a file is
+ * requested without it, as it always was), and what to do with files of a type that is not configured.
+ */
+@ConfigurationProperties("core-valid-d2-conservative-adapter.input-files")
+public record InputFilesProperties(Map<String, InputFileRole> types,
+                                   List<String> mandatory,
+                                   @DefaultValue("IGNORE") UnknownTypePolicy unknownTypePolicy) {
+
+    public InputFilesProperties {
+        final Map<String, InputFileRole> allTypes = new HashMap<>(Map.of(CNEC_RAM, InputFileRole.CNEC_RAM, VERTICES, InputFileRole.VERTICES));
+        if (types != null) {
+            types.forEach((fileType, role) -> allTypes.put(fileType.toUpperCase(Locale.ROOT), role));
+        }
+        types = Map.copyOf(allTypes);
+        mandatory = mandatory == null ? List.of() : List.copyOf(mandatory);
+    }
+
+    public enum UnknownTypePolicy {
+        IGNORE,
+        FAIL
+    }
+}
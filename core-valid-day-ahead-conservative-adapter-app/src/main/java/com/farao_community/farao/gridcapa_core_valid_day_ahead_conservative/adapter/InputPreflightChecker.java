@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Checks that an input file exists in MinIO and is not truncated, through its pre-signed URL: a ranged GET of
+ * the first byte is answered with the full object size, without downloading the object. HEAD cannot be used
+ * since a pre-signed URL is only valid for the method it was signed for.
+ * Only a 404 means that the file is missing. Throttling, timeouts and server errors are transient failures, while
+ * other refusals (400, 401, 403...) reveal a signing or configuration problem that no retry or parking would solve.
+ */
+@Component
+public class InputPreflightChecker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InputPreflightChecker.class);
+    private static final int PARTIAL_CONTENT = 206;
+    private static final int NOT_FOUND = 404;
+    private static final int REQUEST_TIMEOUT = 408;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long UNKNOWN_SIZE = -1;
+
+    private final InputPreflightProperties properties;
+    private final HttpClient httpClient;
+
+    public InputPreflightChecker(final InputPreflightProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.timeout())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * @return false if the file is missing or smaller than the configured minimal size
+     * @throws CoreValidD2ConservativeAdapterException caused by an {@link IOException} if MinIO could not be reached or
+     * answered with a transient error status, or without cause if MinIO refused the pre-signed URL
+     */
+    public boolean isAvailable(final String fileName, final String fileUrl) {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(fileUrl))
+                .timeout(properties.timeout())
+                .header("Range", "bytes=0-0")
+                .GET()
+                .build();
+        final HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            // only headers are needed, closing the body avoids downloading a whole object if the range is ignored
+            response.body().close();
+        } catch (final IOException e) {
+            throw new CoreValidD2ConservativeAdapterException("Failed to check input file %s in MinIO".formatted(fileName), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreValidD2ConservativeAdapterException("Interrupted while checking input file %s in MinIO".formatted(fileName), e);
+        }
+        final int statusCode = response.statusCode();
+        if (statusCode == NOT_FOUND) {
+            LOGGER.warn("Input file {} is not available in MinIO", fileName);
+            return false;
+        }
+        if (statusCode == REQUEST_TIMEOUT || statusCode == TOO_MANY_REQUESTS || statusCode >= 500) {
+            throw new CoreValidD2ConservativeAdapterException("Failed to check input file %s in MinIO".formatted(fileName),
+                                                              new IOException("MinIO answered with status " + statusCode));
+        }
+        if (statusCode != RANGE_NOT_SATISFIABLE && statusCode / 100 != 2) {
+            throw new CoreValidD2ConservativeAdapterException(
+                    "MinIO refused the pre-signed URL of input file %s with status %d, check the MinIO URL and credentials of the adapter and its clock"
+                            .formatted(fileName, statusCode));
+        }
+        final long size = switch (statusCode) {
+            case PARTIAL_CONTENT -> response.headers().firstValue("Content-Range").map(InputPreflightChecker::totalSize).orElse(UNKNOWN_SIZE);
+            // an empty object cannot satisfy any range
+            case RANGE_NOT_SATISFIABLE -> 0;
+            default -> response.headers().firstValueAsLong("Content-Length").orElse(UNKNOWN_SIZE);
+        };
+        if (size != UNKNOWN_SIZE && size < properties.minSize()) {
+            LOGGER.warn("Input file {} is truncated in MinIO ({} bytes)", fileName, size);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the complete length of a {@code bytes 0-0/1234} content range, which may be unknown ({@code *}).
+     */
+    private static long totalSize(final String contentRange) {
+        final String completeLength = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+        try {
+            return Long.parseLong(completeLength);
+        } catch (final NumberFormatException e) {
+            return UNKNOWN_SIZE;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        httpClient.close();
+    }
+}
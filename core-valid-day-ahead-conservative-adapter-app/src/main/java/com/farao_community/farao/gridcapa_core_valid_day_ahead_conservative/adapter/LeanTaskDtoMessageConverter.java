@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskParameterDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads incoming {@link TaskDto} messages with a streaming parser, keeping only what the adapter uses:
+ * id, timestamp, status, inputs, parameters and the newest run of the history, found in a single pass.
+ * Output files, available inputs, process events and older runs, which grow without limit on timestamps
+ * that get rerun many times, are skipped without being bound.
+ */
+@Component
+@ConditionalOnProperty(value = "core-valid-d2-conservative-adapter.lean-deserialization.enabled", matchIfMissing = true)
+public class LeanTaskDtoMessageConverter extends AbstractMessageConverter {
+
+    private static final TypeReference<List<ProcessFileDto>> PROCESS_FILES = new TypeReference<>() { };
+    private static final TypeReference<List<TaskParameterDto>> PARAMETERS = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper;
+
+    public LeanTaskDtoMessageConverter(final ObjectMapper objectMapper) {
+        super(MimeTypeUtils.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return TaskDto.class.equals(clazz);
+    }
+
+    @Override
+    protected boolean canConvertTo(final Object payload, final MessageHeaders headers) {
+        return false;
+    }
+
+    @Override
+    protected Object convertFromInternal(final Message<?> message, final Class<?> targetClass, final Object conversionHint) {
+        final Object payload = message.getPayload();
+        try {
+            return payload instanceof byte[] bytes ? readTask(bytes) : null;
+        } catch (final IOException e) {
+            throw new CoreValidD2ConservativeAdapterException("Failed to read task from message payload", e);
+        }
+    }
+
+    TaskDto readTask(final byte[] payload) throws IOException {
+        UUID id = null;
+        OffsetDateTime timestamp = null;
+        TaskStatus status = null;
+        List<ProcessFileDto> inputs = List.of();
+        List<TaskParameterDto> parameters = List.of();
+        ProcessRunDto newestRun = null;
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CoreValidD2ConservativeAdapterException("Task payload is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "id" -> id = objectMapper.readValue(parser, UUID.class);
+                    case "timestamp" -> timestamp = objectMapper.readValue(parser, OffsetDateTime.class);
+                    case "status" -> status = objectMapper.readValue(parser, TaskStatus.class);
+                    case "inputs" -> inputs = readList(parser, PROCESS_FILES);
+                    case "parameters" -> parameters = readList(parser, PARAMETERS);
+                    case "runHistory" -> newestRun = readNewestRun(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new TaskDto(id,
+                           timestamp,
+                           status,
+                           inputs,
+                           List.of(),
+                           List.of(),
+                           List.of(),
+                           newestRun == null ? List.of() : List.of(newestRun),
+                           parameters);
+    }
+
+    private <T> List<T> readList(final JsonParser parser, final TypeReference<List<T>> type) throws IOException {
+        final List<T> list = parser.currentToken() == JsonToken.VALUE_NULL ? null : objectMapper.readValue(parser, type);
+        return list == null ? List.of() : list;
+    }
+
+    /**
+     * Only the id and execution date of each run are read, the run with the latest execution date is kept.
+     */
+    private ProcessRunDto readNewestRun(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        UUID newestRunId = null;
+        OffsetDateTime newestExecutionDate = null;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                // not a run, such as a null element: skipped like unknown fields
+                parser.skipChildren();
+                continue;
+            }
+            UUID runId = null;
+            OffsetDateTime executionDate = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case "id" -> runId = objectMapper.readValue(parser, UUID.class);
+                    case "executionDate" -> executionDate = objectMapper.readValue(parser, OffsetDateTime.class);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (executionDate != null && (newestExecutionDate == null || executionDate.isAfter(newestExecutionDate))) {
+                newestRunId = runId;
+                newestExecutionDate = executionDate;
+            }
+        }
+        return newestRunId == null ? null : new ProcessRunDto(newestRunId, newestExecutionDate, List.of());
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import java.util.List;
+
+/**
+ * Thrown when input files of a task are missing or truncated in MinIO, before the run request is handed over to the runner.
+ */
+public class MissingInputException extends CoreValidD2ConservativeAdapterException {
+
+    private final List<String> missingFiles;
+
+    public MissingInputException(final List<String> missingFiles) {
+        super("Input files missing or truncated in MinIO: " + String.join(", ", missingFiles));
+        this.missingFiles = List.copyOf(missingFiles);
+    }
+
+    public List<String> getMissingFiles() {
+        return missingFiles;
+    }
+}
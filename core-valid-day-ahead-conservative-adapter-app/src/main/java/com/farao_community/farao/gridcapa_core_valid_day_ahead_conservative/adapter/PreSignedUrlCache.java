@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiry-aware cache of pre-signed MinIO URLs keyed by full MinIO file path.
+ * Entries are evicted either when they are older than the configured time-to-live,
+ * or when the cache is full (least recently used first). Only actual MinIO signings (cache misses, or every lookup
+ * when the cache is disabled) are timed, so that the signing latency is not hidden by cache hits.
+ */
+@Component
+public class PreSignedUrlCache implements MeterBinder {
+
+    static final int URL_VALIDITY_IN_HOURS = 1;
+    private static final String METRIC_NAME = "core.valid.d2.conservative.adapter.url.cache";
+
+    private final MinioAdapter minioAdapter;
+    private final UrlCacheProperties properties;
+    private final AdapterMetrics adapterMetrics;
+    private final Clock clock;
+    private final Map<String, CachedUrl> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public PreSignedUrlCache(final MinioAdapter minioAdapter,
+                             final UrlCacheProperties properties,
+                             final AdapterMetrics adapterMetrics) {
+        this(minioAdapter, properties, adapterMetrics, Clock.systemUTC());
+    }
+
+    PreSignedUrlCache(final MinioAdapter minioAdapter,
+                      final UrlCacheProperties properties,
+                      final AdapterMetrics adapterMetrics,
+                      final Clock clock) {
+        this.minioAdapter = minioAdapter;
+        this.properties = properties;
+        this.adapterMetrics = adapterMetrics;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedUrl> eldest) {
+                final boolean full = size() > properties.maxSize();
+                if (full) {
+                    evictions.incrementAndGet();
+                }
+                return full;
+            }
+        };
+    }
+
+    public String getPreSignedUrl(final String filePath) {
+        if (!properties.enabled()) {
+            return signWithMinio(filePath);
+        }
+        final Instant now = clock.instant();
+        final CompletableFuture<String> signing = new CompletableFuture<>();
+        final CachedUrl cachedUrl;
+        synchronized (cache) {
+            final CachedUrl existing = cache.get(filePath);
+            if (existing != null && now.isBefore(existing.expiresAt())) {
+                hits.incrementAndGet();
+                cachedUrl = existing;
+            } else {
+                if (existing != null) {
+                    evictions.incrementAndGet();
+                }
+                misses.incrementAndGet();
+                cachedUrl = new CachedUrl(signing, now.plus(properties.timeToLive()));
+                cache.put(filePath, cachedUrl);
+            }
+        }
+        if (cachedUrl.url() == signing) {
+            // Signing is done outside the lock so that a slow MinIO call does not block other lookups,
+            // concurrent lookups of the same path wait for this signing instead of signing again
+            sign(filePath, cachedUrl);
+        }
+        try {
+            return cachedUrl.url().join();
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    private void sign(final String filePath, final CachedUrl cachedUrl) {
+        try {
+            cachedUrl.url().complete(signWithMinio(filePath));
+        } catch (final RuntimeException e) {
+            synchronized (cache) {
+                cache.remove(filePath, cachedUrl);
+            }
+            cachedUrl.url().completeExceptionally(e);
+        }
+    }
+
+    private String signWithMinio(final String filePath) {
+        return adapterMetrics.recordUrlSigning(() -> minioAdapter.generatePreSignedUrlFromFullMinioPath(filePath, URL_VALIDITY_IN_HOURS));
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public CacheStats getStats() {
+        final int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), size);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".hits", hits, AtomicLong::get)
+                .description("Number of pre-signed URLs served from cache")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".misses", misses, AtomicLong::get)
+                .description("Number of pre-signed URLs generated through MinIO")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".evictions", evictions, AtomicLong::get)
+                .description("Number of pre-signed URLs evicted because expired or cache full")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", this, urlCache -> urlCache.getStats().size())
+                .description("Number of pre-signed URLs currently cached")
+                .register(registry);
+    }
+
+    private record CachedUrl(CompletableFuture<String> url, Instant expiresAt) {
+    }
+
+    public record CacheStats(long hits, long misses, long evictions, int size) {
+    }
+}
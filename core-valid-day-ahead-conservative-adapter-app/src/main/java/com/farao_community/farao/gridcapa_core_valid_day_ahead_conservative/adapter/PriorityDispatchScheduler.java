@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.AUTOMATIC;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+/**
+ * Dispatch scheduler shared by the manual and automatic asynchronous consumers, so that an operator's manual
+ * rerun overtakes a backlog of automatic runs. Handlings are queued per launch type and taken by a fixed pool
+ * of virtual-thread workers following a weighted round-robin, with starvation protection of the automatic queue.
+ */
+@Component
+public class PriorityDispatchScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityDispatchScheduler.class);
+    private static final String QUEUE_WAIT_TIMER = AdapterMetrics.PREFIX + ".dispatch.queue.wait";
+    private static final String QUEUE_SIZE_GAUGE = AdapterMetrics.PREFIX + ".dispatch.queue.size";
+
+    private final DispatchProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobAvailable = lock.newCondition();
+    private final Deque<QueuedJob> manualQueue = new ArrayDeque<>();
+    private final Deque<QueuedJob> automaticQueue = new ArrayDeque<>();
+    private final Timer manualQueueWaitTimer;
+    private final Timer automaticQueueWaitTimer;
+    private List<Thread> workers = List.of();
+    private int manualCredits;
+    private int automaticCredits;
+    private boolean running = true;
+
+    public PriorityDispatchScheduler(final DispatchProperties properties,
+                                     final MeterRegistry registry) {
+        this.properties = properties;
+        this.manualQueueWaitTimer = queueWaitTimer(registry, MANUAL);
+        this.automaticQueueWaitTimer = queueWaitTimer(registry, AUTOMATIC);
+        queueSizeGauge(registry, MANUAL);
+        queueSizeGauge(registry, AUTOMATIC);
+    }
+
+    /**
+     * Workers are started once the bean is fully built rather than from the constructor, which would let them
+     * see a partially constructed scheduler. Handlings submitted before are queued until then.
+     */
+    @PostConstruct
+    void start() {
+        workers = IntStream.range(0, properties.workers())
+                .mapToObj(i -> Thread.ofVirtual().name("dispatch-worker-" + i).start(this::work))
+                .toList();
+    }
+
+    public void submit(final String launchType, final Runnable job) {
+        lock.lock();
+        try {
+            if (!running) {
+                throw new CoreValidD2ConservativeAdapterException("Dispatch scheduler is shut down");
+            }
+            queueOf(launchType).addLast(new QueuedJob(launchType, job, System.nanoTime()));
+            jobAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueSize(final String launchType) {
+        lock.lock();
+        try {
+            return queueOf(launchType).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                final QueuedJob queuedJob = take();
+                if (queuedJob == null) {
+                    return;
+                }
+                final Timer queueWaitTimer = MANUAL.equals(queuedJob.launchType()) ? manualQueueWaitTimer : automaticQueueWaitTimer;
+                queueWaitTimer.record(System.nanoTime() - queuedJob.enqueuedAt(), TimeUnit.NANOSECONDS);
+                try {
+                    queuedJob.job().run();
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Unexpected error in dispatched {} job", queuedJob.launchType(), e);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the next job to run, or null once the scheduler is shut down
+     */
+    private QueuedJob take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && manualQueue.isEmpty() && automaticQueue.isEmpty()) {
+                jobAvailable.await();
+            }
+            return running ? next() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private QueuedJob next() {
+        if (automaticQueue.isEmpty()) {
+            return manualQueue.pollFirst();
+        }
+        if (manualQueue.isEmpty() || isStarving(automaticQueue.peekFirst())) {
+            return automaticQueue.pollFirst();
+        }
+        if (manualCredits == 0 && automaticCredits == 0) {
+            manualCredits = properties.manualWeight();
+            automaticCredits = properties.automaticWeight();
+        }
+        if (manualCredits > 0) {
+            manualCredits--;
+            return manualQueue.pollFirst();
+        }
+        automaticCredits--;
+        return automaticQueue.pollFirst();
+    }
+
+    private boolean isStarving(final QueuedJob queuedJob) {
+        return System.nanoTime() - queuedJob.enqueuedAt() >= properties.automaticMaxWait().toNanos();
+    }
+
+    private Deque<QueuedJob> queueOf(final String launchType) {
+        return MANUAL.equals(launchType) ? manualQueue : automaticQueue;
+    }
+
+    private static Timer queueWaitTimer(final MeterRegistry registry, final String launchType) {
+        return Timer.builder(QUEUE_WAIT_TIMER)
+                .description("Time spent by a handling in the dispatch queue before a worker takes it")
+                .tag(AdapterMetrics.LAUNCH_TYPE_TAG, launchType.toUpperCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void queueSizeGauge(final MeterRegistry registry, final String launchType) {
+        Gauge.builder(QUEUE_SIZE_GAUGE, this, scheduler -> scheduler.getQueueSize(launchType))
+                .description("Number of handlings waiting for a dispatch worker")
+                .tag(AdapterMetrics.LAUNCH_TYPE_TAG, launchType.toUpperCase(Locale.ROOT))
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            if (!manualQueue.isEmpty() || !automaticQueue.isEmpty()) {
+                LOGGER.warn("{} queued handlings dropped at shutdown, their messages will be redelivered",
+                            manualQueue.size() + automaticQueue.size());
+            }
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        final long deadline = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        for (final Thread worker : workers) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                LOGGER.warn("Dispatch worker {} still running at shutdown, interrupting it", worker.getName());
+                worker.interrupt();
+            }
+        }
+    }
+
+    private record QueuedJob(String launchType, Runnable job, long enqueuedAt) {
+    }
+}
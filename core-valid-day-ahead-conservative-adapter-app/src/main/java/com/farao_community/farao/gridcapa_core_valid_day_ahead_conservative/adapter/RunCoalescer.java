@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latest-wins coalescing of run requests per timestamp: each timestamp holds a claim on the newest run
+ * (by execution date) pending or in flight. A request for an older run than the claimed one is discarded,
+ * and a request whose claim was taken over by a newer run in the meantime is not dispatched.
+ * Claims are released once handled, but the execution date of the newest dispatched run of each timestamp is kept
+ * in a bounded, time-windowed index, so that a late or redelivered older run is still discarded afterwards.
+ */
+@Component
+public class RunCoalescer implements MeterBinder {
+
+    private final CoalescingProperties properties;
+    private final Clock clock;
+    private final Map<Instant, Claim> claims = new ConcurrentHashMap<>();
+    private final Map<Instant, Dispatch> dispatches;
+    private final AtomicLong supersededRuns = new AtomicLong();
+
+    @Autowired
+    public RunCoalescer(final CoalescingProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    RunCoalescer(final CoalescingProperties properties, final Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        // Insertion ordered, entries being re-inserted on update: the eldest dispatch is always the first one to leave the window
+        this.dispatches = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Instant, Dispatch> eldest) {
+                return size() > properties.maxSize();
+            }
+        };
+    }
+
+    /**
+     * @return true if the run is the newest known one for the timestamp and now holds the claim on it
+     */
+    public boolean tryClaim(final OffsetDateTime timestamp, final ProcessRunDto run) {
+        if (isOlderThanDispatched(timestamp, run)) {
+            supersededRuns.incrementAndGet();
+            return false;
+        }
+        final Claim candidate = new Claim(run.getId(), run.getExecutionDate());
+        final Claim claim = claims.merge(timestamp.toInstant(), candidate,
+            (existing, requested) -> existing.executionDate().isAfter(requested.executionDate()) ? existing : requested);
+        if (!claim.runId().equals(candidate.runId())) {
+            supersededRuns.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean isSuperseded(final OffsetDateTime timestamp, final ProcessRunDto run) {
+        final Claim claim = claims.get(timestamp.toInstant());
+        final boolean superseded = (claim != null && !claim.runId().equals(run.getId())) || isOlderThanDispatched(timestamp, run);
+        if (superseded) {
+            supersededRuns.incrementAndGet();
+        }
+        return superseded;
+    }
+
+    public void release(final OffsetDateTime timestamp, final ProcessRunDto run) {
+        claims.computeIfPresent(timestamp.toInstant(), (key, claim) -> claim.runId().equals(run.getId()) ? null : claim);
+    }
+
+    /**
+     * Records the run as dispatched to the runner, unless a newer run of the timestamp was dispatched already.
+     */
+    public void recordDispatched(final OffsetDateTime timestamp, final ProcessRunDto run) {
+        final Instant now = clock.instant();
+        final Instant key = timestamp.toInstant();
+        synchronized (dispatches) {
+            purgeExpired(now);
+            final Dispatch existing = dispatches.remove(key);
+            final boolean newer = existing == null || run.getExecutionDate().isAfter(existing.executionDate());
+            dispatches.put(key, newer ? new Dispatch(run.getExecutionDate(), now) : existing);
+        }
+    }
+
+    public long getSupersededRuns() {
+        return supersededRuns.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("core.valid.d2.conservative.adapter.runs.superseded", supersededRuns, AtomicLong::get)
+                .description("Number of run requests discarded because a newer run is pending or in flight on the same timestamp")
+                .register(registry);
+    }
+
+    private boolean isOlderThanDispatched(final OffsetDateTime timestamp, final ProcessRunDto run) {
+        synchronized (dispatches) {
+            purgeExpired(clock.instant());
+            final Dispatch dispatch = dispatches.get(timestamp.toInstant());
+            return dispatch != null && dispatch.executionDate().isAfter(run.getExecutionDate());
+        }
+    }
+
+    private void purgeExpired(final Instant now) {
+        final Instant windowStart = now.minus(properties.window());
+        final Iterator<Dispatch> iterator = dispatches.values().iterator();
+        while (iterator.hasNext() && !iterator.next().recordedAt().isAfter(windowStart)) {
+            iterator.remove();
+        }
+    }
+
+    private record Claim(UUID runId, OffsetDateTime executionDate) {
+    }
+
+    private record Dispatch(OffsetDateTime executionDate, Instant recordedAt) {
+    }
+}
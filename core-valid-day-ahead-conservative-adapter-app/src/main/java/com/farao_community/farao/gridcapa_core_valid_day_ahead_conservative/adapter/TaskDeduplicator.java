@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, time-windowed index of the (task id, run id) pairs already dispatched to the runner,
+ * used to drop RabbitMQ redeliveries and task-manager republications of the same run.
+ * A pair is registered before dispatch and unregistered if the dispatch fails, so that retries
+ * of a failed handling are not mistaken for duplicates.
+ */
+@Component
+public class TaskDeduplicator implements MeterBinder {
+
+    private final DeduplicationProperties properties;
+    private final Clock clock;
+    private final Map<String, Instant> registrations;
+    private final AtomicLong suppressedDuplicates = new AtomicLong();
+
+    @Autowired
+    public TaskDeduplicator(final DeduplicationProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    TaskDeduplicator(final DeduplicationProperties properties, final Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        // Insertion ordered: the eldest registration is always the first one to leave the window
+        this.registrations = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Instant> eldest) {
+                return size() > properties.maxSize();
+            }
+        };
+    }
+
+    /**
+     * @return true if the run was not dispatched yet and is now registered, false if it is a duplicate
+     */
+    public boolean tryRegister(final UUID taskId, final String runId) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        final Instant now = clock.instant();
+        final String key = key(taskId, runId);
+        synchronized (registrations) {
+            purgeExpired(now);
+            if (registrations.containsKey(key)) {
+                suppressedDuplicates.incrementAndGet();
+                return false;
+            }
+            registrations.put(key, now);
+            return true;
+        }
+    }
+
+    public void unregister(final UUID taskId, final String runId) {
+        synchronized (registrations) {
+            registrations.remove(key(taskId, runId));
+        }
+    }
+
+    public long getSuppressedDuplicates() {
+        return suppressedDuplicates.get();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("core.valid.d2.conservative.adapter.duplicates.suppressed", suppressedDuplicates, AtomicLong::get)
+                .description("Number of duplicated run requests dropped before dispatch")
+                .register(registry);
+    }
+
+    private void purgeExpired(final Instant now) {
+        final Instant windowStart = now.minus(properties.window());
+        final Iterator<Instant> iterator = registrations.values().iterator();
+        while (iterator.hasNext() && !iterator.next().isAfter(windowStart)) {
+            iterator.remove();
+        }
+    }
+
+    private static String key(final UUID taskId, final String runId) {
+        return taskId + "/" + runId;
+    }
+}
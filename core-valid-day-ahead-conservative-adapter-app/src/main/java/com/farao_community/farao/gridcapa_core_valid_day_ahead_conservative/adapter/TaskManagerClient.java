@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Reads tasks from the task manager REST API. Without a configured base URL, reads fail: the client is only used by
+ * the features that need it.
+ */
+@Component
+public class TaskManagerClient {
+
+    private final RestClient restClient;
+
+    public TaskManagerClient(final RestClient.Builder restClientBuilder,
+                             final TaskManagerProperties properties) {
+        this.restClient = properties.isConfigured() ? restClientBuilder.baseUrl(properties.baseUrl()).build() : null;
+    }
+
+    public boolean isConfigured() {
+        return restClient != null;
+    }
+
+    /**
+     * @return the task of the timestamp, or empty if the task manager has none
+     * @throws org.springframework.web.client.RestClientResponseException if the task manager answers with any other error status
+     * @throws CoreValidD2ConservativeAdapterException if no task manager base URL is configured
+     */
+    public Optional<TaskDto> getTask(final OffsetDateTime timestamp) {
+        if (restClient == null) {
+            throw new CoreValidD2ConservativeAdapterException("No task manager to read tasks from, core-valid-d2-conservative-adapter.task-manager.base-url is not set");
+        }
+        try {
+            return Optional.ofNullable(restClient.get()
+                                               .uri("/tasks/{timestamp}", timestamp.toString())
+                                               .retrieve()
+                                               .body(TaskDto.class));
+        } catch (final HttpClientErrorException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The task manager is only read by deferred retries and backfills, which require its base URL. It has no default
+ * so that an instance never reads tasks from whatever happens to listen on a default address.
+ */
+@ConfigurationProperties("core-valid-d2-conservative-adapter.task-manager")
+public record TaskManagerProperties(String baseUrl) {
+
+    public boolean isConfigured() {
+        return baseUrl != null && !baseUrl.isBlank();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.stream.binder.PartitionKeyExtractorStrategy;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * Partition key of task messages: the task timestamp, as an UTC instant so that the same instant expressed
+ * with different offsets lands on the same partition (its string hash also spreads hourly and quarter-hourly
+ * timestamps evenly, which epoch milliseconds do not). Every producer of the partitioned destinations must select
+ * partitions with this key, so that all run requests of a timestamp are consumed in order by the same adapter
+ * instance: the task manager with the equivalent key expression {@code payload.timestamp.toInstant().toString()},
+ * producers embedding the adapter with this extractor (partition-key-extractor-name: timestampPartitionKeyExtractor).
+ */
+@Component("timestampPartitionKeyExtractor")
+public class TimestampPartitionKeyExtractor implements PartitionKeyExtractorStrategy {
+
+    private final ObjectMapper objectMapper;
+
+    public TimestampPartitionKeyExtractor(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object extractKey(final Message<?> message) {
+        final Object payload = message.getPayload();
+        if (payload instanceof TaskDto taskDto) {
+            return partitionKey(taskDto.getTimestamp());
+        }
+        if (payload instanceof byte[] serializedPayload) {
+            // the payload may already have been converted when partitioning happens
+            return partitionKey(readTimestamp(serializedPayload));
+        }
+        throw new CoreValidD2ConservativeAdapterException("Cannot extract partition key from payload of type " + payload.getClass());
+    }
+
+    static String partitionKey(final OffsetDateTime timestamp) {
+        return timestamp.toInstant().toString();
+    }
+
+    private OffsetDateTime readTimestamp(final byte[] serializedPayload) {
+        try {
+            final JsonNode timestamp = objectMapper.readTree(serializedPayload).get("timestamp");
+            if (timestamp == null) {
+                throw new CoreValidD2ConservativeAdapterException("Cannot extract partition key from payload without timestamp");
+            }
+            return objectMapper.treeToValue(timestamp, OffsetDateTime.class);
+        } catch (final IOException e) {
+            throw new CoreValidD2ConservativeAdapterException("Cannot extract partition key from unreadable payload", e);
+        }
+    }
+}
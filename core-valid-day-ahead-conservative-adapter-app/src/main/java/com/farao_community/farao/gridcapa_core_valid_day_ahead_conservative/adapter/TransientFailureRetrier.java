@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Applies the retry policy of {@link ErrorHandlingProperties} to handlings that are not retried by the binder
+ * (asynchronous dispatch, tasks of a batch, parked tasks): transient failures are retried with an exponential
+ * backoff, other failures and the last transient one are rethrown to the caller. Callers that must not block a
+ * thread during the backoff schedule the next attempt themselves from {@link #retryDelay(RuntimeException, int)}.
+ */
+@Component
+public class TransientFailureRetrier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransientFailureRetrier.class);
+
+    private final FailureClassifier failureClassifier;
+    private final ErrorHandlingProperties properties;
+
+    public TransientFailureRetrier(final FailureClassifier failureClassifier,
+                                   final ErrorHandlingProperties properties) {
+        this.failureClassifier = failureClassifier;
+        this.properties = properties;
+    }
+
+    public void run(final Runnable handling) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handling.run();
+                return;
+            } catch (final RuntimeException e) {
+                Thread.sleep(retryDelay(e, attempt).orElseThrow(() -> e));
+            }
+        }
+    }
+
+    /**
+     * @return the backoff before the next attempt, or empty if the failure is not transient or was the last attempt
+     */
+    public Optional<Duration> retryDelay(final RuntimeException failure, final int attempt) {
+        if (attempt >= properties.maxAttempts() || !failureClassifier.isTransient(failure)) {
+            return Optional.empty();
+        }
+        final long backOffMillis = Math.min((long) (properties.initialInterval().toMillis() * Math.pow(properties.multiplier(), attempt - 1.0)),
+                                            properties.maxInterval().toMillis());
+        LOGGER.warn("Transient failure of handling (attempt {}/{}), retrying in {} ms",
+                    attempt, properties.maxAttempts(), backOffMillis, failure);
+        return Optional.of(Duration.ofMillis(backOffMillis));
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Pre-signed URLs are generated with a one hour validity. A cached URL may be handed to the runner until the end of
+ * its time-to-live, and the runner may only fetch the file up to {@code runnerPickupMargin} later (queueing, slow
+ * start): the time-to-live plus that margin must not exceed the URL validity, so that the runner never gets an
+ * expired URL. The cache holds at least one URL.
+ */
+@Validated
+@ConfigurationProperties("core-valid-d2-conservative-adapter.url-cache")
+public record UrlCacheProperties(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue("1000") @Positive int maxSize,
+                                 @DefaultValue("30m") Duration timeToLive,
+                                 @DefaultValue("15m") Duration runnerPickupMargin) {
+
+    public UrlCacheProperties {
+        final Duration urlValidity = Duration.ofHours(PreSignedUrlCache.URL_VALIDITY_IN_HOURS);
+        if (runnerPickupMargin.isNegative()) {
+            throw new IllegalArgumentException("Runner pickup margin must not be negative, got " + runnerPickupMargin);
+        }
+        if (!timeToLive.isPositive() || timeToLive.plus(runnerPickupMargin).compareTo(urlValidity) > 0) {
+            throw new IllegalArgumentException(("URL cache time-to-live must be positive and, with the %s runner pickup margin, "
+                                                + "not exceed the %dh validity of pre-signed URLs, got %s")
+                                                       .formatted(runnerPickupMargin, PreSignedUrlCache.URL_VALIDITY_IN_HOURS, timeToLive));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.resource.CoreValidD2ConservativeRequest;
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.util.MimeTypeUtils;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus.VALIDATED;
+import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.READY;
+
+/**
+ * Drives thousands of run requests through the real consumer bindings on the test binder, with MinIO and the
+ * runner stubbed with a configurable latency and failure rate, and reports throughput, end-to-end latency
+ * percentiles (from message publication to runner handoff) and heap usage. Excluded from the default build,
+ * run it with {@code mvn test -Pload-tests}, tuning it with {@code -Dload.messages=5000 -Dload.producers=16}
+ * and the other {@code load.*} properties below, as well as any adapter property, including the bindings
+ * defaulted in application-load-test.yml.
+ */
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("load-test")
+@Import(TestChannelBinderConfiguration.class)
+class AdapterLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdapterLoadTest.class);
+    private static final OffsetDateTime FIRST_TIMESTAMP = OffsetDateTime.parse("2020-01-01T00:30Z");
+    private static final Duration HEAP_SAMPLING_PERIOD = Duration.ofMillis(10);
+
+    @Value("${load.messages:5000}")
+    private int messages;
+
+    @Value("${load.producers:8}")
+    private int producers;
+
+    @Value("${load.automatic-ratio:0.8}")
+    private double automaticRatio;
+
+    @Value("${load.minio.latency:5ms}")
+    private Duration minioLatency;
+
+    @Value("${load.minio.failure-rate:0.0}")
+    private double minioFailureRate;
+
+    @Value("${load.runner.latency:20ms}")
+    private Duration runnerLatency;
+
+    @Value("${load.runner.failure-rate:0.01}")
+    private double runnerFailureRate;
+
+    @MockitoBean
+    private CoreValidD2ConservativeClient coreValidD2ConservativeClient;
+
+    @MockitoBean
+    private MinioAdapter minioAdapter;
+
+    @Autowired
+    private InputDestination inputDestination;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Long> publicationNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger dispatched = new AtomicInteger();
+
+    @Test
+    void reportThroughputLatencyAndHeapUsage() throws Exception {
+        final long[] latencies = new long[messages];
+        stubMinio();
+        stubRunner(latencies);
+        final List<Message<byte[]>> payloads = IntStream.range(0, messages).mapToObj(this::message).toList();
+        final HeapSampler heapSampler = new HeapSampler();
+        final long gcCountBefore = gcCount();
+        final long gcTimeBefore = gcTimeMillis();
+        final double handledBefore = handledCount(null);
+        final double failedBefore = handledCount(HandlingOutcome.FAILED);
+
+        final long start = System.nanoTime();
+        try (ExecutorService producerThreads = Executors.newFixedThreadPool(producers)) {
+            for (int i = 0; i < messages; i++) {
+                final Message<byte[]> message = payloads.get(i);
+                final String binding = i < messages * automaticRatio ? "consumeAutoTask-in-0" : "consumeTask-in-0";
+                producerThreads.submit(() -> send(message, binding));
+            }
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        final long maxHeapUsed = heapSampler.stop();
+        final long failed = Math.round(handledCount(HandlingOutcome.FAILED) - failedBefore);
+
+        final long[] dispatchLatencies = Arrays.copyOf(latencies, dispatched.get());
+        Arrays.sort(dispatchLatencies);
+        LOGGER.info("""
+                        Load test report
+                          messages:      {} ({} producers, MinIO {} / {}% failures, runner {} / {}% failures)
+                          dispatched:    {}, failed: {}
+                          throughput:    {} messages/s
+                          latency p50:   {} ms
+                          latency p99:   {} ms
+                          latency max:   {} ms
+                          heap used max: {} MiB (sampled every {} ms)
+                          GC:            {} collections, {} ms""",
+                    messages, producers, minioLatency, minioFailureRate * 100, runnerLatency, runnerFailureRate * 100,
+                    dispatched.get(), failed,
+                    String.format("%.1f", messages / (elapsed.toNanos() / 1e9)),
+                    millis(percentile(dispatchLatencies, 0.50)),
+                    millis(percentile(dispatchLatencies, 0.99)),
+                    millis(percentile(dispatchLatencies, 1.0)),
+                    maxHeapUsed / (1024 * 1024),
+                    HEAP_SAMPLING_PERIOD.toMillis(),
+                    gcCount() - gcCountBefore,
+                    gcTimeMillis() - gcTimeBefore);
+
+        Assertions.assertEquals(messages, Math.round(handledCount(null) - handledBefore));
+    }
+
+    /**
+     * @param outcome null to count every handled request
+     */
+    private double handledCount(final HandlingOutcome outcome) {
+        final var search = meterRegistry.find(AdapterMetrics.REQUESTS_COUNTER);
+        return (outcome == null ? search : search.tag(AdapterMetrics.OUTCOME_TAG, outcome.name())).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private void stubMinio() {
+        Mockito.when(minioAdapter.generatePreSignedUrlFromFullMinioPath(Mockito.anyString(), Mockito.anyInt()))
+                .thenAnswer(invocation -> {
+                    simulate(minioLatency, minioFailureRate, "MinIO");
+                    return "https://minio.test" + invocation.getArgument(0) + "?X-Amz-Signature=stub";
+                });
+    }
+
+    private void stubRunner(final long[] latencies) {
+        Mockito.doAnswer(invocation -> {
+            simulate(runnerLatency, runnerFailureRate, "Runner");
+            final CoreValidD2ConservativeRequest request = invocation.getArgument(0);
+            latencies[dispatched.getAndIncrement()] = System.nanoTime() - publicationNanos.get(request.getId());
+            return null;
+        }).when(coreValidD2ConservativeClient).run(Mockito.any());
+    }
+
+    private static void simulate(final Duration latency, final double failureRate, final String stub) throws InterruptedException {
+        Thread.sleep(latency);
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException(stub + " stub failure");
+        }
+    }
+
+    private Message<byte[]> message(final int index) {
+        // distinct timestamps and file paths, so that neither run coalescing nor the URL cache hides the load
+        final OffsetDateTime timestamp = FIRST_TIMESTAMP.plusHours(index);
+        final List<ProcessFileDto> inputs = List.of(
+                new ProcessFileDto("/CNEC-RAM/" + index, "CNEC-RAM", VALIDATED, "cnec-ram-" + index, "docId1", timestamp),
+                new ProcessFileDto("/VERTICES/" + index, "VERTICES", VALIDATED, "vertices-" + index, "docId2", timestamp));
+        final TaskDto taskDto = new TaskDto(UUID.randomUUID(), timestamp, READY, inputs, null, List.of(), List.of(),
+                                            List.of(new ProcessRunDto(UUID.randomUUID(), timestamp, inputs)), List.of());
+        try {
+            return MessageBuilder.withPayload(objectMapper.writeValueAsBytes(taskDto))
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                    .setHeader("taskId", taskDto.getId().toString())
+                    .build();
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void send(final Message<byte[]> message, final String binding) {
+        publicationNanos.put(message.getHeaders().get("taskId", String.class), System.nanoTime());
+        inputDestination.send(message, binding);
+    }
+
+    private static long percentile(final long[] sortedValues, final double percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        return sortedValues[(int) Math.ceil(percentile * sortedValues.length) - 1];
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    /**
+     * Samples the used heap as a whole: summing the peaks of each heap pool would add up peaks reached at different times.
+     */
+    private static final class HeapSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong maxUsed = new AtomicLong();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final Thread sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(this::sample);
+
+        private void sample() {
+            while (running.get()) {
+                maxUsed.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(HEAP_SAMPLING_PERIOD);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private long stop() throws InterruptedException {
+            running.set(false);
+            sampler.join();
+            return Math.max(maxUsed.get(), memory.getHeapMemoryUsage().getUsed());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.AUTOMATIC;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+class AsyncTaskDispatcherTest {
+
+    private PriorityDispatchScheduler scheduler;
+    private AsyncTaskDispatcher dispatcher;
+    private Channel channel;
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @BeforeEach
+    void setUp() {
+        final DispatchProperties properties = new DispatchProperties(1, 1, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(5), 16);
+        scheduler = new PriorityDispatchScheduler(properties, new SimpleMeterRegistry());
+        scheduler.start();
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(3, Duration.ofMillis(10), 2.0, Duration.ofMillis(20),
+                                                                                           List.of(IOException.class, UncheckedIOException.class));
+        deadLetterPublisher = Mockito.mock(DeadLetterPublisher.class);
+        dispatcher = new AsyncTaskDispatcher(properties, scheduler,
+                                             new TransientFailureRetrier(new FailureClassifier(errorHandlingProperties), errorHandlingProperties),
+                                             deadLetterPublisher);
+        channel = Mockito.mock(Channel.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+        scheduler.shutdown();
+    }
+
+    private Message<String> message(final long deliveryTag) {
+        return MessageBuilder.withPayload("task")
+                .setHeader(AmqpHeaders.CHANNEL, channel)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+                .build();
+    }
+
+    @Test
+    void successfulHandlingIsAcknowledged() throws IOException {
+        dispatcher.dispatch(message(1L), MANUAL, () -> { });
+        Mockito.verify(channel, Mockito.timeout(1000)).basicAck(1L, false);
+        Mockito.verify(channel, Mockito.never()).basicReject(Mockito.anyLong(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void failedHandlingIsDeadLetteredAndAcknowledged() throws IOException {
+        final Message<String> message = message(2L);
+        dispatcher.dispatch(message, MANUAL, () -> {
+            throw new CoreValidD2ConservativeAdapterException("Failure");
+        });
+        Mockito.verify(channel, Mockito.timeout(1000)).basicAck(2L, false);
+        Mockito.verify(deadLetterPublisher).publish(Mockito.eq(message), Mockito.eq(MANUAL), Mockito.any(CoreValidD2ConservativeAdapterException.class));
+        Mockito.verify(channel, Mockito.never()).basicReject(Mockito.anyLong(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void failedHandlingIsRejectedWithoutRequeueWhenItCannotBeDeadLettered() throws IOException {
+        final Message<String> message = message(5L);
+        Mockito.doThrow(new CoreValidD2ConservativeAdapterException("Broker unreachable"))
+                .when(deadLetterPublisher).publish(Mockito.eq(message), Mockito.anyString(), Mockito.any(Throwable.class));
+        dispatcher.dispatch(message, MANUAL, () -> {
+            throw new CoreValidD2ConservativeAdapterException("Failure");
+        });
+        Mockito.verify(channel, Mockito.timeout(1000)).basicReject(5L, false);
+        Mockito.verify(channel, Mockito.never()).basicAck(Mockito.anyLong(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void transientFailureIsRetriedBeforeAcknowledgement() throws IOException {
+        final AtomicInteger attempts = new AtomicInteger();
+        dispatcher.dispatch(message(3L), MANUAL, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CoreValidD2ConservativeAdapterException("MinIO unreachable", new UncheckedIOException(new IOException("Connection refused")));
+            }
+        });
+        Mockito.verify(channel, Mockito.timeout(1000)).basicAck(3L, false);
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void nonRetryableFailureIsDeadLetteredWithoutRetry() throws IOException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Message<String> message = message(4L);
+        dispatcher.dispatch(message, MANUAL, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Unexpected value: VORTICE");
+        });
+        Mockito.verify(channel, Mockito.timeout(1000)).basicAck(4L, false);
+        Mockito.verify(deadLetterPublisher).publish(Mockito.eq(message), Mockito.eq(MANUAL), Mockito.any(IllegalStateException.class));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void consumerBlocksWhenInFlightLimitIsReached() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch secondDispatched = new CountDownLatch(1);
+        dispatcher.dispatch(message(1L), AUTOMATIC, () -> awaitQuietly(release));
+
+        final Thread consumer = Thread.ofVirtual().start(() -> {
+            dispatcher.dispatch(message(2L), AUTOMATIC, () -> { });
+            secondDispatched.countDown();
+        });
+
+        Assertions.assertFalse(secondDispatched.await(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, dispatcher.getInFlightCount(AUTOMATIC));
+        release.countDown();
+        Assertions.assertTrue(secondDispatched.await(1, TimeUnit.SECONDS));
+        consumer.join();
+    }
+
+    @Test
+    void manualDispatchIsNotBlockedByAFullAutomaticBacklog() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch manualDispatched = new CountDownLatch(1);
+        dispatcher.dispatch(message(1L), AUTOMATIC, () -> awaitQuietly(release));
+
+        final Thread consumer = Thread.ofVirtual().start(() -> {
+            dispatcher.dispatch(message(2L), MANUAL, () -> { });
+            manualDispatched.countDown();
+        });
+
+        Assertions.assertTrue(manualDispatched.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, dispatcher.getInFlightCount(MANUAL));
+        release.countDown();
+        consumer.join();
+    }
+
+    @Test
+    void retryBackoffDoesNotHoldAWorker() throws IOException, InterruptedException {
+        final ErrorHandlingProperties slowBackOff = new ErrorHandlingProperties(2, Duration.ofSeconds(1), 2.0, Duration.ofSeconds(1),
+                                                                                List.of(UncheckedIOException.class));
+        final AsyncTaskDispatcher slowRetryDispatcher = new AsyncTaskDispatcher(
+                new DispatchProperties(1, 1, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(5), 16), scheduler,
+                new TransientFailureRetrier(new FailureClassifier(slowBackOff), slowBackOff), deadLetterPublisher);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch otherHandled = new CountDownLatch(1);
+        try {
+            slowRetryDispatcher.dispatch(message(1L), MANUAL, () -> {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new UncheckedIOException(new IOException("Connection refused"));
+                }
+            });
+            slowRetryDispatcher.dispatch(message(2L), AUTOMATIC, otherHandled::countDown);
+
+            // the single worker is free during the one second backoff
+            Assertions.assertTrue(otherHandled.await(500, TimeUnit.MILLISECONDS));
+            Assertions.assertEquals(1, slowRetryDispatcher.getInFlightCount(MANUAL));
+            Mockito.verify(channel, Mockito.timeout(3000)).basicAck(1L, false);
+            Assertions.assertEquals(2, attempts.get());
+        } finally {
+            slowRetryDispatcher.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backfills against a local stub of the task manager REST API.
+ */
+class BackfillServiceTest {
+
+    private static final OffsetDateTime FROM = OffsetDateTime.parse("2025-10-02T00:30Z");
+
+    private final Set<Instant> existingTasks = ConcurrentHashMap.newKeySet();
+    private final CoreValidD2ConservativeAdapterListener listener = Mockito.mock(CoreValidD2ConservativeAdapterListener.class);
+    private final DeadLetterPublisher deadLetterPublisher = Mockito.mock(DeadLetterPublisher.class);
+    private HttpServer taskManager;
+    private TaskManagerClient taskManagerClient;
+    private PriorityDispatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskManager = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        taskManager.createContext("/tasks/", this::answerGetTask);
+        taskManager.start();
+        taskManagerClient = new TaskManagerClient(RestClient.builder(),
+                                                  new TaskManagerProperties("http://localhost:" + taskManager.getAddress().getPort()));
+        scheduler = new PriorityDispatchScheduler(new DispatchProperties(16, 4, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(5), 16),
+                                                  new SimpleMeterRegistry());
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.shutdown();
+        taskManager.stop(0);
+    }
+
+    private void answerGetTask(final HttpExchange exchange) throws IOException {
+        final String timestamp = URLDecoder.decode(exchange.getRequestURI().getPath().substring("/tasks/".length()), StandardCharsets.UTF_8);
+        if (existingTasks.contains(OffsetDateTime.parse(timestamp).toInstant())) {
+            final byte[] body = """
+                    {"id": "%s", "timestamp": "%s", "status": "SUCCESS", "inputs": [], "availableInputs": [], "outputs": [],
+                     "processEvents": [], "runHistory": [], "parameters": []}
+                    """.formatted(UUID.randomUUID(), timestamp).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+        }
+        exchange.close();
+    }
+
+    private BackfillService backfillService(final int maxConcurrency) {
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(1, Duration.ofMillis(10), 2.0, Duration.ofMillis(10), List.of());
+        return new BackfillService(new BackfillProperties(true, maxConcurrency, Duration.ofHours(1), 100, 10), taskManagerClient, listener, scheduler,
+                                   new TransientFailureRetrier(new FailureClassifier(errorHandlingProperties), errorHandlingProperties),
+                                   deadLetterPublisher);
+    }
+
+    @Test
+    void backfillHandlesEveryTaskOfTheRange() throws Exception {
+        existingTasks.add(FROM.toInstant());
+        existingTasks.add(FROM.plusHours(1).toInstant());
+        existingTasks.add(FROM.plusHours(3).toInstant());
+        Mockito.when(listener.handleAutoTask(Mockito.any())).thenReturn(HandlingOutcome.DISPATCHED);
+        final BackfillService backfillService = backfillService(2);
+
+        final BackfillProgress started = backfillService.start(new BackfillRequest(FROM, FROM.plusHours(4), "AUTOMATIC"));
+        final BackfillProgress progress = backfillService.awaitCompletion(started.id(), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(BackfillProgress.State.COMPLETED, progress.state());
+        Assertions.assertEquals(4, progress.total());
+        Assertions.assertEquals(4, progress.processed());
+        Assertions.assertEquals(1, progress.notFound());
+        Assertions.assertEquals(0, progress.failed());
+        Assertions.assertEquals(0, progress.skipped());
+        Assertions.assertEquals(3, progress.outcomes().get(HandlingOutcome.DISPATCHED));
+        Mockito.verify(listener, Mockito.times(3)).handleAutoTask(Mockito.any(TaskDto.class));
+        Mockito.verify(listener, Mockito.never()).handleManualTask(Mockito.any());
+    }
+
+    @Test
+    void failedHandlingIsDeadLetteredWithoutStoppingTheBackfill() throws Exception {
+        existingTasks.add(FROM.toInstant());
+        existingTasks.add(FROM.plusHours(1).toInstant());
+        final CoreValidD2ConservativeAdapterException failure = new CoreValidD2ConservativeAdapterException("Error");
+        Mockito.when(listener.handleManualTask(Mockito.any()))
+                .thenThrow(failure)
+                .thenReturn(HandlingOutcome.DISPATCHED);
+        final BackfillService backfillService = backfillService(1);
+
+        final BackfillProgress started = backfillService.start(new BackfillRequest(FROM, FROM.plusHours(2), "manual"));
+        final BackfillProgress progress = backfillService.awaitCompletion(started.id(), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(2, progress.processed());
+        Assertions.assertEquals(1, progress.failed());
+        Assertions.assertEquals(1, progress.outcomes().get(HandlingOutcome.DISPATCHED));
+        Mockito.verify(deadLetterPublisher).publish(Mockito.any(TaskDto.class), Mockito.eq(CoreValidD2ConservativeAdapterListener.MANUAL), Mockito.eq(failure));
+    }
+
+    @Test
+    void cancelledBackfillStopsDispatching() throws Exception {
+        for (int hour = 0; hour < 10; hour++) {
+            existingTasks.add(FROM.plusHours(hour).toInstant());
+        }
+        final CountDownLatch handlingStarted = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        Mockito.when(listener.handleManualTask(Mockito.any())).thenAnswer(invocation -> {
+            handlingStarted.countDown();
+            // an interrupted handling would throw here and be counted as failed
+            cancelled.await(5, TimeUnit.SECONDS);
+            return HandlingOutcome.DISPATCHED;
+        });
+        final BackfillService backfillService = backfillService(1);
+
+        final BackfillProgress started = backfillService.start(new BackfillRequest(FROM, FROM.plusHours(10), "manual"));
+        Assertions.assertTrue(handlingStarted.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(backfillService.cancel(started.id()).isPresent());
+        cancelled.countDown();
+        final BackfillProgress progress = backfillService.awaitCompletion(started.id(), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(BackfillProgress.State.CANCELLED, progress.state());
+        Assertions.assertEquals(1, progress.processed());
+        Assertions.assertEquals(0, progress.failed());
+        Assertions.assertEquals(1, progress.outcomes().get(HandlingOutcome.DISPATCHED));
+        Mockito.verify(listener, Mockito.times(1)).handleManualTask(Mockito.any());
+    }
+
+    @Test
+    void alreadyHandledRunsAreReportedAsSkipped() throws Exception {
+        existingTasks.add(FROM.toInstant());
+        existingTasks.add(FROM.plusHours(1).toInstant());
+        existingTasks.add(FROM.plusHours(2).toInstant());
+        Mockito.when(listener.handleManualTask(Mockito.any()))
+                .thenReturn(HandlingOutcome.DUPLICATE)
+                .thenReturn(HandlingOutcome.SUPERSEDED)
+                .thenReturn(HandlingOutcome.DISPATCHED);
+        final BackfillService backfillService = backfillService(1);
+
+        final BackfillProgress started = backfillService.start(new BackfillRequest(FROM, FROM.plusHours(3), "manual"));
+        final BackfillProgress progress = backfillService.awaitCompletion(started.id(), Duration.ofSeconds(5));
+
+        Assertions.assertEquals(3, progress.processed());
+        Assertions.assertEquals(2, progress.skipped());
+        Assertions.assertEquals(1, progress.outcomes().get(HandlingOutcome.DISPATCHED));
+    }
+
+    @Test
+    void backfillIsDisabledByDefault() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(BackfillController.class, BackfillService.class)
+                .run(context -> {
+                    Assertions.assertNull(context.getStartupFailure());
+                    Assertions.assertTrue(context.getBeansOfType(BackfillController.class).isEmpty());
+                    Assertions.assertTrue(context.getBeansOfType(BackfillService.class).isEmpty());
+                });
+    }
+
+    @Test
+    void enabledBackfillRequiresTheTaskManager() {
+        final TaskManagerClient unconfiguredClient = new TaskManagerClient(RestClient.builder(), new TaskManagerProperties(null));
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(1, Duration.ofMillis(10), 2.0, Duration.ofMillis(10), List.of());
+        final BackfillProperties properties = new BackfillProperties(true, 1, Duration.ofHours(1), 100, 10);
+        final TransientFailureRetrier transientFailureRetrier = new TransientFailureRetrier(new FailureClassifier(errorHandlingProperties), errorHandlingProperties);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> new BackfillService(properties, unconfiguredClient, listener, scheduler, transientFailureRetrier, deadLetterPublisher));
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        final BackfillService backfillService = backfillService(1);
+        final BackfillRequest reversedRange = new BackfillRequest(FROM, FROM.minusHours(1), "manual");
+        final BackfillRequest unknownLaunchType = new BackfillRequest(FROM, FROM.plusHours(1), "scheduled");
+        final BackfillRequest tooLongRange = new BackfillRequest(FROM, FROM.plusDays(31), "manual");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> backfillService.start(reversedRange));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> backfillService.start(unknownLaunchType));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> backfillService.start(tooLongRange));
+        Assertions.assertTrue(backfillService.getJobs().isEmpty());
+    }
+}
@@ -15,6 +15,8 @@ import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.
 import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.resource.CoreValidD2ConservativeRequest;
 import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
 import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +40,7 @@ import java.util.function.Consumer;
 import static com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus.VALIDATED;
 import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.CREATED;
 import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.READY;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.AUTOMATIC;
 import static java.util.Collections.emptyList;
 
 /**
@@ -52,11 +55,20 @@ class CoreValidD2ConservativeAdapterListenerTest {
     @MockitoBean
     private MinioAdapter minioAdapter;
 
+    @MockitoBean
+    private InputPreflightChecker inputPreflightChecker;
+
+    @MockitoBean
+    private DeadLetterPublisher deadLetterPublisher;
+
     @Captor
     ArgumentCaptor<CoreValidD2ConservativeRequest> argumentCaptor;
 
     @Autowired
     private CoreValidD2ConservativeAdapterListener listener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
     private String cnecRamFileType;
     private String verticesFileType;
 
@@ -70,8 +82,11 @@ class CoreValidD2ConservativeAdapterListenerTest {
     private String verticesFileUrl;
 
     TaskDto createTaskDtoWithStatus(final TaskStatus status) {
+        return createTaskDtoWithStatus(status, OffsetDateTime.parse("2025-10-02T14:30Z"));
+    }
+
+    TaskDto createTaskDtoWithStatus(final TaskStatus status, final OffsetDateTime timestamp) {
         final UUID id = UUID.randomUUID();
-        final OffsetDateTime timestamp = OffsetDateTime.parse("2025-10-02T14:30Z");
         final List<ProcessFileDto> processFiles = new ArrayList<>();
 
         processFiles.add(new ProcessFileDto(cnecRamFilePath,
@@ -178,10 +193,24 @@ class CoreValidD2ConservativeAdapterListenerTest {
                                             verticesFileName,
                                             "docId2",
                                             timestamp));
-        final TaskDto taskDto = getTaskDto(id, timestamp, processFiles);
-        Assertions.assertThrows(IllegalStateException.class,
-                                () -> listener.getManualCoreValidD2ConservativeRequest(taskDto));
+        final TaskDto taskDto = new TaskDto(id, timestamp, READY, processFiles, null, emptyList(), new ArrayList<>(),
+                                            List.of(new ProcessRunDto(UUID.randomUUID(), OffsetDateTime.now(), processFiles)),
+                                            emptyList());
+        // the unknown type is ignored and no type is mandatory by default: the request goes without vertices
+        final CoreValidD2ConservativeRequest coreValidRequest = listener.getManualCoreValidD2ConservativeRequest(taskDto);
+        Assertions.assertEquals(cnecRamFileUrl, coreValidRequest.getCnecRam().getUrl());
+        Assertions.assertNull(coreValidRequest.getVertices());
+        Mockito.verify(minioAdapter, Mockito.never()).generatePreSignedUrlFromFullMinioPath(Mockito.eq(verticesFilePath), Mockito.anyInt());
+    }
 
+    @Test
+    void testGetCoreValidRequestIgnoresUnknownFileTypes() {
+        final TaskDto taskDto = createTaskDtoWithStatus(READY);
+        taskDto.getInputs().add(new ProcessFileDto("/CGM", "CGM", VALIDATED, "cgm", "docId3", taskDto.getTimestamp()));
+        final CoreValidD2ConservativeRequest coreValidRequest = listener.getManualCoreValidD2ConservativeRequest(taskDto);
+        Assertions.assertEquals(cnecRamFileUrl, coreValidRequest.getCnecRam().getUrl());
+        Assertions.assertEquals(verticesFileUrl, coreValidRequest.getVertices().getUrl());
+        Mockito.verify(minioAdapter, Mockito.never()).generatePreSignedUrlFromFullMinioPath(Mockito.eq("/CGM"), Mockito.anyInt());
     }
 
     private static @NotNull TaskDto getTaskDto(final UUID id,
@@ -262,4 +291,106 @@ class CoreValidD2ConservativeAdapterListenerTest {
                 () -> taskDtoConsumer.accept(taskDto),
                 "Error during handling manual run request on TS 2025-10-02T14:30Z");
     }
+
+    @Test
+    void consumeTaskBatchDispatchesEveryValidTask() {
+        final TaskDto readyTask = createTaskDtoWithStatus(READY);
+        final TaskDto createdTask = createTaskDtoWithStatus(CREATED);
+        final TaskDto taskWithoutRunHistory = getTaskDto(UUID.randomUUID(), OffsetDateTime.now(), List.of());
+        listener.consumeTaskBatch().accept(List.of(readyTask, createdTask, taskWithoutRunHistory));
+        Mockito.verify(coreValidD2ConservativeClient).run(argumentCaptor.capture());
+        final CoreValidD2ConservativeRequest coreValidRequest = argumentCaptor.getValue();
+        Assertions.assertEquals(readyTask.getId().toString(), coreValidRequest.getId());
+        Assertions.assertFalse(coreValidRequest.getLaunchedAutomatically());
+    }
+
+    @Test
+    void consumeAutoTaskBatchDeadLettersEveryFailedTask() {
+        final TaskDto failingTask = createTaskDtoWithStatus(READY, OffsetDateTime.parse("2025-10-02T14:30Z"));
+        final TaskDto succeedingTask = createTaskDtoWithStatus(READY, OffsetDateTime.parse("2025-10-02T15:30Z"));
+        Mockito.doThrow(RuntimeException.class).doNothing().when(coreValidD2ConservativeClient).run(Mockito.any());
+        final Consumer<List<TaskDto>> taskDtosConsumer = listener.consumeAutoTaskBatch();
+        Assertions.assertDoesNotThrow(() -> taskDtosConsumer.accept(List.of(failingTask)));
+        taskDtosConsumer.accept(List.of(succeedingTask));
+        Mockito.verify(coreValidD2ConservativeClient, Mockito.times(2)).run(Mockito.any());
+        Mockito.verify(deadLetterPublisher).publish(Mockito.eq(failingTask), Mockito.eq(AUTOMATIC), Mockito.any(CoreValidD2ConservativeAdapterException.class));
+        Mockito.verifyNoMoreInteractions(deadLetterPublisher);
+    }
+
+    @Test
+    void consumeAutoTaskBatchThrowsExceptionWhenAFailedTaskCannotBeDeadLettered() {
+        final List<TaskDto> taskDtos = List.of(createTaskDtoWithStatus(READY, OffsetDateTime.parse("2025-10-02T14:30Z")),
+                                               createTaskDtoWithStatus(READY, OffsetDateTime.parse("2025-10-02T15:30Z")));
+        Mockito.doThrow(RuntimeException.class).when(coreValidD2ConservativeClient).run(Mockito.any());
+        Mockito.doThrow(new CoreValidD2ConservativeAdapterException("Broker unreachable"))
+                .when(deadLetterPublisher).publish(Mockito.any(TaskDto.class), Mockito.any(), Mockito.any());
+        final Consumer<List<TaskDto>> taskDtosConsumer = listener.consumeAutoTaskBatch();
+        Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> taskDtosConsumer.accept(taskDtos));
+        Mockito.verify(coreValidD2ConservativeClient, Mockito.times(2)).run(Mockito.any());
+    }
+
+    @Test
+    void consumeDuplicatedTaskDispatchesOnce() {
+        final TaskDto taskDto = createTaskDtoWithStatus(READY);
+        listener.consumeTask().accept(taskDto);
+        listener.consumeTask().accept(taskDto);
+        Mockito.verify(coreValidD2ConservativeClient, Mockito.times(1)).run(Mockito.any());
+    }
+
+    @Test
+    void consumeTaskAgainAfterFailureIsNotADuplicate() {
+        final TaskDto taskDto = createTaskDtoWithStatus(READY);
+        Mockito.doThrow(RuntimeException.class).doNothing().when(coreValidD2ConservativeClient).run(Mockito.any());
+        final Consumer<TaskDto> taskDtoConsumer = listener.consumeTask();
+        Assertions.assertThrows(CoreValidD2ConservativeAdapterException.class, () -> taskDtoConsumer.accept(taskDto));
+        taskDtoConsumer.accept(taskDto);
+        Mockito.verify(coreValidD2ConservativeClient, Mockito.times(2)).run(Mockito.any());
+    }
+
+    @Test
+    void consumeTaskWithMissingInputFailsBeforeDispatch() {
+        final TaskDto taskDto = createTaskDtoWithStatus(READY);
+        Mockito.when(inputPreflightChecker.isEnabled()).thenReturn(true);
+        Mockito.when(inputPreflightChecker.isAvailable(cnecRamFileName, cnecRamFileUrl)).thenReturn(true);
+        Mockito.when(inputPreflightChecker.isAvailable(verticesFileName, verticesFileUrl)).thenReturn(false);
+        final Consumer<TaskDto> taskDtoConsumer = listener.consumeTask();
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> taskDtoConsumer.accept(taskDto));
+        final MissingInputException missingInputException = Assertions.assertInstanceOf(MissingInputException.class, exception.getCause());
+        Assertions.assertEquals(List.of(verticesFileName), missingInputException.getMissingFiles());
+        Mockito.verify(coreValidD2ConservativeClient, Mockito.never()).run(Mockito.any());
+    }
+
+    private double requestCount(final String launchType, final HandlingOutcome outcome) {
+        return meterRegistry.find(AdapterMetrics.REQUESTS_COUNTER)
+                .tag(AdapterMetrics.LAUNCH_TYPE_TAG, launchType)
+                .tag(AdapterMetrics.OUTCOME_TAG, outcome.name())
+                .counters()
+                .stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    @Test
+    void consumeTaskPublishesMetrics() {
+        final double dispatchedBefore = requestCount("MANUAL", HandlingOutcome.DISPATCHED);
+        final double notReadyBefore = requestCount("AUTOMATIC", HandlingOutcome.NOT_READY);
+        final double noRunHistoryBefore = requestCount("MANUAL", HandlingOutcome.NO_RUN_HISTORY);
+        final TaskDto taskWithoutRunHistory = getTaskDto(UUID.randomUUID(), OffsetDateTime.now(), List.of());
+        final Consumer<TaskDto> taskDtoConsumer = listener.consumeTask();
+
+        taskDtoConsumer.accept(createTaskDtoWithStatus(READY));
+        listener.consumeAutoTask().accept(createTaskDtoWithStatus(CREATED));
+        Assertions.assertThrows(CoreValidD2ConservativeAdapterException.class, () -> taskDtoConsumer.accept(taskWithoutRunHistory));
+
+        Assertions.assertEquals(dispatchedBefore + 1, requestCount("MANUAL", HandlingOutcome.DISPATCHED));
+        Assertions.assertEquals(notReadyBefore + 1, requestCount("AUTOMATIC", HandlingOutcome.NOT_READY));
+        Assertions.assertEquals(noRunHistoryBefore + 1, requestCount("MANUAL", HandlingOutcome.NO_RUN_HISTORY));
+        Assertions.assertNotNull(meterRegistry.find(AdapterMetrics.URL_SIGNING_TIMER).timer());
+        Assertions.assertNotNull(meterRegistry.find(AdapterMetrics.MAPPING_TIMER).timer());
+        Assertions.assertNotNull(meterRegistry.find(AdapterMetrics.RUNNER_DISPATCH_TIMER).timer());
+    }
 }
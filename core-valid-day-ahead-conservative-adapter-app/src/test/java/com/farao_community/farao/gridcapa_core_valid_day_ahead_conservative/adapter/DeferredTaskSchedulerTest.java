@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.CREATED;
+import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.READY;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+class DeferredTaskSchedulerTest {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-10-02T14:30Z");
+    private static final Predicate<TaskDto> IS_READY = taskDto -> taskDto.getStatus() == READY;
+
+    private final TaskManagerClient taskManagerClient = Mockito.mock(TaskManagerClient.class);
+    private final DeadLetterPublisher deadLetterPublisher = Mockito.mock(DeadLetterPublisher.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-10-02T12:00:00Z"));
+    private PriorityDispatchScheduler dispatchScheduler;
+    private AsyncTaskDispatcher asyncTaskDispatcher;
+    private DeferredTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(taskManagerClient.isConfigured()).thenReturn(true);
+        final DispatchProperties dispatchProperties = new DispatchProperties(4, 2, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(5), 16);
+        dispatchScheduler = new PriorityDispatchScheduler(dispatchProperties, new SimpleMeterRegistry());
+        dispatchScheduler.start();
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(1, Duration.ofMillis(10), 2.0, Duration.ofMillis(10),
+                                                                                           List.of(UncheckedIOException.class));
+        asyncTaskDispatcher = new AsyncTaskDispatcher(dispatchProperties, dispatchScheduler,
+                                                      new TransientFailureRetrier(new FailureClassifier(errorHandlingProperties), errorHandlingProperties),
+                                                      deadLetterPublisher);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        asyncTaskDispatcher.shutdown();
+        dispatchScheduler.shutdown();
+    }
+
+    private static TaskDto task(final TaskStatus status) {
+        return task(status, TIMESTAMP);
+    }
+
+    private static TaskDto task(final TaskStatus status, final OffsetDateTime timestamp) {
+        return new TaskDto(UUID.randomUUID(), timestamp, status, List.of(), null, List.of(), List.of(), List.of(), List.of());
+    }
+
+    private DeferredTaskScheduler scheduler(final int maxParkedTasks, final Duration deadline) {
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(1, Duration.ofMillis(10), 2.0, Duration.ofMillis(10),
+                                                                                           List.of(UncheckedIOException.class));
+        return new DeferredTaskScheduler(
+                new DeferredRetryProperties(true, maxParkedTasks, Duration.ofMillis(10), 2.0, Duration.ofMillis(40), deadline),
+                taskManagerClient,
+                asyncTaskDispatcher,
+                new FailureClassifier(errorHandlingProperties),
+                deadLetterPublisher,
+                clock);
+    }
+
+    @Test
+    void parkedTaskIsDispatchedOnceReady() throws Exception {
+        final TaskDto readyTask = task(READY);
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP))
+                .thenReturn(Optional.of(task(CREATED)))
+                .thenReturn(Optional.of(task(CREATED)))
+                .thenReturn(Optional.of(readyTask));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final CompletableFuture<TaskDto> dispatched = new CompletableFuture<>();
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, dispatched::complete));
+        Assertions.assertEquals(1, scheduler.getParkedCount());
+
+        Assertions.assertSame(readyTask, dispatched.get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, scheduler.getParkedCount());
+        Mockito.verify(taskManagerClient, Mockito.times(3)).getTask(TIMESTAMP);
+    }
+
+    @Test
+    void parkedTaskIsDeadLetteredAfterDeadline() {
+        final TaskDto parkedTask = task(CREATED);
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP)).thenReturn(Optional.of(task(CREATED)));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final CompletableFuture<TaskDto> dispatched = new CompletableFuture<>();
+
+        Assertions.assertTrue(scheduler.park(parkedTask, MANUAL, IS_READY, dispatched::complete));
+        clock.advance(Duration.ofHours(1));
+
+        Mockito.verify(deadLetterPublisher, Mockito.timeout(1000))
+                .publish(Mockito.eq(parkedTask), Mockito.eq(MANUAL), Mockito.any(CoreValidD2ConservativeAdapterException.class));
+        Assertions.assertEquals(0, scheduler.getParkedCount());
+        Assertions.assertFalse(dispatched.isDone());
+    }
+
+    @Test
+    void taskIsNotParkedWhenFull() {
+        Mockito.when(taskManagerClient.getTask(Mockito.any())).thenReturn(Optional.empty());
+        scheduler = scheduler(1, Duration.ofHours(1));
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> { }));
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> { }));
+        Assertions.assertFalse(scheduler.park(task(CREATED, TIMESTAMP.plusHours(1)), MANUAL, IS_READY, taskDto -> { }));
+        Assertions.assertEquals(1, scheduler.getParkedCount());
+    }
+
+    @Test
+    void concurrentParkingsNeverExceedCapacity() throws Exception {
+        Mockito.when(taskManagerClient.getTask(Mockito.any())).thenReturn(Optional.empty());
+        scheduler = scheduler(5, Duration.ofHours(1));
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> parkings;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            parkings = IntStream.range(0, 50)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return scheduler.park(task(CREATED, TIMESTAMP.plusHours(i)), MANUAL, IS_READY, taskDto -> { });
+                    }))
+                    .toList();
+            start.countDown();
+        }
+        int parked = 0;
+        for (final Future<Boolean> parking : parkings) {
+            parked += parking.get() ? 1 : 0;
+        }
+        Assertions.assertEquals(5, parked);
+        Assertions.assertEquals(5, scheduler.getParkedCount());
+    }
+
+    @Test
+    void transientDispatchFailureIsParkedAgain() throws Exception {
+        final TaskDto readyTask = task(READY);
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP)).thenReturn(Optional.of(readyTask));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<TaskDto> dispatched = new CompletableFuture<>();
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CoreValidD2ConservativeAdapterException("Runner unreachable", new UncheckedIOException(new IOException("Connection refused")));
+            }
+            dispatched.complete(taskDto);
+        }));
+
+        Assertions.assertSame(readyTask, dispatched.get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, attempts.get());
+        Mockito.verifyNoInteractions(deadLetterPublisher);
+    }
+
+    @Test
+    void nonRetryableDispatchFailureIsDeadLettered() {
+        final TaskDto readyTask = task(READY);
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP)).thenReturn(Optional.of(readyTask));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Unexpected value: VORTICE");
+        }));
+
+        Mockito.verify(deadLetterPublisher, Mockito.timeout(1000))
+                .publish(Mockito.eq(readyTask), Mockito.eq(MANUAL), Mockito.any(IllegalStateException.class));
+        Assertions.assertEquals(1, attempts.get());
+        Assertions.assertEquals(0, scheduler.getParkedCount());
+    }
+
+    @Test
+    void slowRecheckDoesNotDelayOtherParkedTasks() throws Exception {
+        final CountDownLatch releaseSlowRead = new CountDownLatch(1);
+        final TaskDto readyTask = task(READY, TIMESTAMP.plusHours(1));
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP)).thenAnswer(invocation -> {
+            releaseSlowRead.await(5, TimeUnit.SECONDS);
+            return Optional.of(task(CREATED));
+        });
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP.plusHours(1))).thenReturn(Optional.of(readyTask));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final CompletableFuture<TaskDto> dispatched = new CompletableFuture<>();
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> { }));
+        Thread.sleep(50);
+        Assertions.assertTrue(scheduler.park(task(CREATED, TIMESTAMP.plusHours(1)), MANUAL, IS_READY, dispatched::complete));
+
+        try {
+            Assertions.assertSame(readyTask, dispatched.get(1, TimeUnit.SECONDS));
+        } finally {
+            releaseSlowRead.countDown();
+        }
+    }
+
+    @Test
+    void readyTaskTakesAnInFlightSlotOfItsLaunchType() throws Exception {
+        Mockito.when(taskManagerClient.getTask(TIMESTAMP)).thenReturn(Optional.of(task(READY)));
+        scheduler = scheduler(10, Duration.ofHours(1));
+        final CountDownLatch handling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        Assertions.assertTrue(scheduler.park(task(CREATED), MANUAL, IS_READY, taskDto -> {
+            handling.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        Assertions.assertTrue(handling.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, asyncTaskDispatcher.getInFlightCount(MANUAL));
+        release.countDown();
+    }
+
+    @Test
+    void enabledDeferredRetriesRequireTheTaskManager() {
+        Mockito.when(taskManagerClient.isConfigured()).thenReturn(false);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> scheduler(10, Duration.ofHours(1)));
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+
+class FailureClassifierTest {
+
+    private final FailureClassifier failureClassifier = new FailureClassifier(
+            new ErrorHandlingProperties(4, Duration.ofSeconds(1), 2.0, Duration.ofSeconds(10),
+                                        List.of(IOException.class, ResourceAccessException.class, AmqpConnectException.class)));
+
+    @Test
+    void connectivityFailuresAreTransient() {
+        Assertions.assertTrue(failureClassifier.isTransient(new ConnectException("Connection refused")));
+        Assertions.assertTrue(failureClassifier.isTransient(
+                new CoreValidD2ConservativeAdapterException("Error", new ResourceAccessException("I/O error", new IOException()))));
+    }
+
+    @Test
+    void invalidTaskFailuresAreNotTransient() {
+        Assertions.assertFalse(failureClassifier.isTransient(new IllegalStateException("Unexpected value: VORTICE")));
+        Assertions.assertFalse(failureClassifier.isTransient(
+                new CoreValidD2ConservativeAdapterException("Failed to handle manual run request on timestamp because it has no run history")));
+    }
+}
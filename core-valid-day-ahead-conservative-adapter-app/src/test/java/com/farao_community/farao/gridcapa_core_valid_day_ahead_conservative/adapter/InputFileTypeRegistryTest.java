@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus.VALIDATED;
+
+class InputFileTypeRegistryTest {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-10-02T14:30Z");
+    private static final ProcessFileDto CNEC_RAM = file("CNEC-RAM", "cnec-ram.xml");
+    private static final ProcessFileDto VERTICES = file("VERTICES", "vertices.csv");
+
+    private static ProcessFileDto file(final String fileType, final String fileName) {
+        return new ProcessFileDto("/" + fileType + "/" + fileName, fileType, VALIDATED, fileName, "docId", TIMESTAMP);
+    }
+
+    private static InputFileTypeRegistry registry(final Map<String, InputFileRole> types,
+                                                  final List<String> mandatory,
+                                                  final InputFilesProperties.UnknownTypePolicy unknownTypePolicy) {
+        return new InputFileTypeRegistry(new InputFilesProperties(types, mandatory, unknownTypePolicy));
+    }
+
+    @Test
+    void defaultRegistryResolvesCnecRamAndVertices() {
+        final InputFileTypeRegistry registry = registry(null, null, InputFilesProperties.UnknownTypePolicy.IGNORE);
+
+        final Map<InputFileRole, ProcessFileDto> inputs = registry.resolve(List.of(CNEC_RAM, VERTICES, file("CGM", "cgm.uct")));
+
+        Assertions.assertEquals(Map.of(InputFileRole.CNEC_RAM, CNEC_RAM, InputFileRole.VERTICES, VERTICES), inputs);
+    }
+
+    @Test
+    void configuredTypesAreAddedToDefaults() {
+        final ProcessFileDto newCnecRam = file("CNEC-RAM-V2", "cnec-ram-v2.xml");
+        final InputFileTypeRegistry registry = registry(Map.of("cnec-ram-v2", InputFileRole.CNEC_RAM, "REPORT", InputFileRole.IGNORED),
+                                                        List.of("VERTICES"),
+                                                        InputFilesProperties.UnknownTypePolicy.FAIL);
+
+        final Map<InputFileRole, ProcessFileDto> inputs = registry.resolve(List.of(newCnecRam, VERTICES, file("REPORT", "report.pdf")));
+
+        Assertions.assertEquals(Map.of(InputFileRole.CNEC_RAM, newCnecRam, InputFileRole.VERTICES, VERTICES), inputs);
+    }
+
+    @Test
+    void missingMandatoryTypeIsRejected() {
+        final InputFileTypeRegistry registry = registry(null, List.of("CNEC-RAM", "VERTICES"), InputFilesProperties.UnknownTypePolicy.IGNORE);
+        final List<ProcessFileDto> inputs = List.of(CNEC_RAM);
+
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> registry.resolve(inputs));
+        Assertions.assertTrue(exception.getMessage().contains("VERTICES"));
+    }
+
+    @Test
+    void noTypeIsMandatoryByDefault() {
+        final InputFileTypeRegistry registry = registry(null, null, InputFilesProperties.UnknownTypePolicy.IGNORE);
+
+        Assertions.assertEquals(Map.of(InputFileRole.VERTICES, VERTICES), registry.resolve(List.of(VERTICES)));
+    }
+
+    @Test
+    void optionalTypeMayBeMissing() {
+        final InputFileTypeRegistry registry = registry(null, List.of("CNEC-RAM"), InputFilesProperties.UnknownTypePolicy.IGNORE);
+
+        Assertions.assertEquals(Map.of(InputFileRole.CNEC_RAM, CNEC_RAM), registry.resolve(List.of(CNEC_RAM)));
+    }
+
+    @Test
+    void unknownTypeIsRejectedWithFailPolicy() {
+        final InputFileTypeRegistry registry = registry(null, null, InputFilesProperties.UnknownTypePolicy.FAIL);
+        final List<ProcessFileDto> inputs = List.of(CNEC_RAM, VERTICES, file("VORTICE", "vortice.csv"));
+
+        Assertions.assertThrows(CoreValidD2ConservativeAdapterException.class, () -> registry.resolve(inputs));
+    }
+}
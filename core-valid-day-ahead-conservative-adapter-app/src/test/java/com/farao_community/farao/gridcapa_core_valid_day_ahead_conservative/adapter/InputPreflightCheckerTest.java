@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Checks input files against a local stand-in answering ranged GETs the way MinIO does.
+ */
+class InputPreflightCheckerTest {
+
+    private static final Map<String, byte[]> OBJECTS = Map.of(
+            "/bucket/cnec-ram.xml", "<FlowBasedConstraintDocument/>".getBytes(StandardCharsets.UTF_8),
+            "/bucket/empty.csv", new byte[0]);
+
+    private HttpServer minio;
+    private InputPreflightChecker inputPreflightChecker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        minio = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        minio.createContext("/bucket", InputPreflightCheckerTest::answerRangedGet);
+        minio.createContext("/unavailable", exchange -> answerStatus(exchange, 503));
+        minio.createContext("/throttled", exchange -> answerStatus(exchange, 429));
+        minio.createContext("/forbidden", exchange -> answerStatus(exchange, 403));
+        minio.start();
+        inputPreflightChecker = new InputPreflightChecker(new InputPreflightProperties(true, Duration.ofSeconds(2), 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inputPreflightChecker.shutdown();
+        minio.stop(0);
+    }
+
+    private static void answerStatus(final HttpExchange exchange, final int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void answerRangedGet(final HttpExchange exchange) throws IOException {
+        final byte[] object = OBJECTS.get(exchange.getRequestURI().getPath());
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+        } else if (object.length == 0) {
+            exchange.sendResponseHeaders(416, -1);
+        } else {
+            exchange.getResponseHeaders().add("Content-Range", "bytes 0-0/" + object.length);
+            exchange.sendResponseHeaders(206, 1);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(object, 0, 1);
+            }
+        }
+        exchange.close();
+    }
+
+    private String url(final String path) {
+        return "http://localhost:%d%s?X-Amz-Signature=stub".formatted(minio.getAddress().getPort(), path);
+    }
+
+    @Test
+    void existingFileIsAvailable() {
+        Assertions.assertTrue(inputPreflightChecker.isAvailable("cnec-ram.xml", url("/bucket/cnec-ram.xml")));
+    }
+
+    @Test
+    void missingFileIsNotAvailable() {
+        Assertions.assertFalse(inputPreflightChecker.isAvailable("vertices.csv", url("/bucket/vertices.csv")));
+    }
+
+    @Test
+    void emptyFileIsNotAvailable() {
+        Assertions.assertFalse(inputPreflightChecker.isAvailable("empty.csv", url("/bucket/empty.csv")));
+    }
+
+    @Test
+    void fileSmallerThanMinimalSizeIsNotAvailable() {
+        final InputPreflightChecker strictChecker = new InputPreflightChecker(new InputPreflightProperties(true, Duration.ofSeconds(2), 1024));
+        try {
+            Assertions.assertFalse(strictChecker.isAvailable("cnec-ram.xml", url("/bucket/cnec-ram.xml")));
+        } finally {
+            strictChecker.shutdown();
+        }
+    }
+
+    @Test
+    void minioFailureIsReportedAsTransient() {
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> inputPreflightChecker.isAvailable("cnec-ram.xml", url("/unavailable/cnec-ram.xml")));
+        Assertions.assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void throttlingIsReportedAsTransient() {
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> inputPreflightChecker.isAvailable("cnec-ram.xml", url("/throttled/cnec-ram.xml")));
+        Assertions.assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void refusedSignatureIsAConfigurationError() {
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> inputPreflightChecker.isAvailable("cnec-ram.xml", url("/forbidden/cnec-ram.xml")));
+        Assertions.assertNull(exception.getCause());
+        Assertions.assertTrue(exception.getMessage().contains("403"));
+    }
+
+    @Test
+    void unreachableMinioIsReportedAsTransient() throws IOException {
+        final int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        final String unreachableUrl = "http://localhost:%d/bucket/cnec-ram.xml".formatted(closedPort);
+        final CoreValidD2ConservativeAdapterException exception = Assertions.assertThrows(
+                CoreValidD2ConservativeAdapterException.class,
+                () -> inputPreflightChecker.isAvailable("cnec-ram.xml", unreachableUrl));
+        Assertions.assertInstanceOf(IOException.class, exception.getCause());
+    }
+}
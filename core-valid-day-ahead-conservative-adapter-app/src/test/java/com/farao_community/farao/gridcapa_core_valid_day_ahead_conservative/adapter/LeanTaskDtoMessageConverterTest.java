@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+class LeanTaskDtoMessageConverterTest {
+
+    private static final String TASK_JSON = """
+            {
+              "id": "1fdda469-53e9-4d63-a533-b935cffdd2f6",
+              "timestamp": "2025-10-02T14:30:00Z",
+              "status": "READY",
+              "inputs": [
+                {"filePath": "/CORE/VALID/cnec-ram.xml", "fileType": "CNEC-RAM", "processFileStatus": "VALIDATED",
+                 "filename": "cnec-ram.xml", "documentId": "docId1", "lastModificationDate": "2025-10-02T14:30:00Z"}
+              ],
+              "outputs": [
+                {"filePath": "/CORE/VALID/result.json", "fileType": "RESULT", "processFileStatus": "VALIDATED",
+                 "filename": "result.json", "documentId": null, "lastModificationDate": "2025-10-02T14:30:00Z"}
+              ],
+              "processEvents": [
+                {"timestamp": "2025-10-02T14:31:00Z", "level": "INFO", "message": "Computation done", "serviceName": "runner"}
+              ],
+              "runHistory": [
+                {"id": "00000000-0000-0000-0000-000000000001", "executionDate": "2025-10-02T10:00:00Z", "inputs": []},
+                {"id": "00000000-0000-0000-0000-000000000003", "executionDate": "2025-10-02T12:00:00Z", "inputs": []},
+                {"id": "00000000-0000-0000-0000-000000000002", "executionDate": "2025-10-02T11:00:00Z", "inputs": []}
+              ],
+              "parameters": [],
+              "unknownField": {"nested": [1, 2, 3]}
+            }
+            """;
+
+    private final LeanTaskDtoMessageConverter converter = new LeanTaskDtoMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void readsOnlyWhatTheAdapterUsesAndKeepsNewestRun() throws Exception {
+        final TaskDto taskDto = converter.readTask(TASK_JSON.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(UUID.fromString("1fdda469-53e9-4d63-a533-b935cffdd2f6"), taskDto.getId());
+        Assertions.assertTrue(OffsetDateTime.parse("2025-10-02T14:30:00Z").isEqual(taskDto.getTimestamp()));
+        Assertions.assertEquals(TaskStatus.READY, taskDto.getStatus());
+        Assertions.assertEquals(1, taskDto.getInputs().size());
+        Assertions.assertEquals("CNEC-RAM", taskDto.getInputs().getFirst().getFileType());
+        Assertions.assertTrue(taskDto.getOutputs().isEmpty());
+        Assertions.assertTrue(taskDto.getProcessEvents().isEmpty());
+        Assertions.assertEquals(1, taskDto.getRunHistory().size());
+        Assertions.assertEquals(UUID.fromString("00000000-0000-0000-0000-000000000003"), taskDto.getRunHistory().getFirst().getId());
+    }
+
+    @Test
+    void readsTaskWithoutRunHistory() throws Exception {
+        final String json = "{\"id\": \"1fdda469-53e9-4d63-a533-b935cffdd2f6\", \"timestamp\": \"2025-10-02T14:30:00Z\", \"status\": \"READY\", \"runHistory\": null}";
+
+        final TaskDto taskDto = converter.readTask(json.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertTrue(taskDto.getRunHistory().isEmpty());
+        Assertions.assertTrue(taskDto.getInputs().isEmpty());
+    }
+
+    @Test
+    void skipsRunHistoryElementsThatAreNotRuns() throws Exception {
+        final String json = """
+                {"id": "1fdda469-53e9-4d63-a533-b935cffdd2f6", "timestamp": "2025-10-02T14:30:00Z", "status": "READY",
+                 "runHistory": [null, "run", ["nested"],
+                                {"id": "00000000-0000-0000-0000-000000000001", "executionDate": "2025-10-02T10:00:00Z"}, 42],
+                 "parameters": []}
+                """;
+
+        final TaskDto taskDto = converter.readTask(json.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(1, taskDto.getRunHistory().size());
+        Assertions.assertEquals(UUID.fromString("00000000-0000-0000-0000-000000000001"), taskDto.getRunHistory().getFirst().getId());
+        Assertions.assertEquals(TaskStatus.READY, taskDto.getStatus());
+    }
+
+    @Test
+    void convertsJsonMessagesToTaskOnly() {
+        final var message = MessageBuilder.withPayload(TASK_JSON.getBytes(StandardCharsets.UTF_8))
+                .setHeader("contentType", MimeTypeUtils.APPLICATION_JSON)
+                .build();
+
+        Assertions.assertInstanceOf(TaskDto.class, converter.fromMessage(message, TaskDto.class));
+        Assertions.assertNull(converter.fromMessage(message, String.class));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.api.resource.CoreValidD2ConservativeRequest;
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.stream.binder.BinderHeaders;
+import org.springframework.cloud.stream.binder.ConsumerProperties;
+import org.springframework.cloud.stream.binder.test.InputDestination;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.messaging.Message;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus.VALIDATED;
+import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.READY;
+
+/**
+ * Checks partition affinity of a partitioned deployment on the test binder: one adapter context is started per
+ * instance index, run requests are produced through a partitioned producer binding, then each message is delivered
+ * to the instance whose configured index matches the partition selected by the producer, the way the broker routes
+ * partitioned messages to the queue of each instance. Producers either use the adapter key extractor, or the key
+ * expression documented for the task manager in a context of their own, without any adapter bean.
+ */
+class PartitionedConsumptionTest {
+
+    private static final int INSTANCE_COUNT = 3;
+    private static final String PRODUCER_BINDING = "partitionedTaskProducer-out-0";
+    private static final String PARTITIONED_DESTINATION = "partitioned-tasks";
+    private static final String CONSUMER_GROUP = "core-valid-d2-conservative-adapter";
+    private static final String TASK_MANAGER_PARTITION_KEY_EXPRESSION = "payload.timestamp.toInstant().toString()";
+    private static final OffsetDateTime BUSINESS_DAY_START = OffsetDateTime.parse("2025-10-01T22:00Z");
+
+    private final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int instanceIndex = 0; instanceIndex < INSTANCE_COUNT; instanceIndex++) {
+            instances.add(new SpringApplicationBuilder(CoreValidD2ConservativeAdapterApplication.class,
+                                                       TestChannelBinderConfiguration.class,
+                                                       StubConfiguration.class)
+                                  .profiles("partitioned")
+                                  .properties("spring.cloud.stream.default-binder=integration",
+                                              "server.port=0",
+                                              "spring.cloud.function.definition=consumeTask;consumeAutoTask",
+                                              "spring.cloud.stream.bindings.consumeTask-in-0.group=" + CONSUMER_GROUP,
+                                              "spring.cloud.stream.bindings.consumeAutoTask-in-0.group=" + CONSUMER_GROUP,
+                                              "spring.cloud.stream.output-bindings=partitionedTaskProducer",
+                                              "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".destination=" + PARTITIONED_DESTINATION,
+                                              "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".producer.partition-key-extractor-name=timestampPartitionKeyExtractor",
+                                              "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".producer.partition-count=" + INSTANCE_COUNT,
+                                              "ADAPTER_INSTANCE_COUNT=" + INSTANCE_COUNT,
+                                              "ADAPTER_INSTANCE_INDEX=" + instanceIndex)
+                                  .run());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(ConfigurableApplicationContext::close);
+        instances.clear();
+    }
+
+    private static TaskDto task(final OffsetDateTime timestamp, final OffsetDateTime executionDate) {
+        final List<ProcessFileDto> inputs = List.of(
+                new ProcessFileDto("/CNEC-RAM", "CNEC-RAM", VALIDATED, "cnec-ram", "docId1", timestamp),
+                new ProcessFileDto("/VERTICES", "VERTICES", VALIDATED, "vertices", "docId2", timestamp));
+        return new TaskDto(UUID.randomUUID(), timestamp, READY, inputs, null, List.of(), List.of(),
+                           List.of(new ProcessRunDto(UUID.randomUUID(), executionDate, inputs)), List.of());
+    }
+
+    private static ConsumerProperties consumerProperties(final ConfigurableApplicationContext instance) {
+        return instance.getBean(BindingServiceProperties.class).getConsumerProperties("consumeTask-in-0");
+    }
+
+    @Test
+    void consumerBindingsArePartitionedWithTheirOwnIndex() {
+        final Set<Integer> instanceIndexes = new HashSet<>();
+        for (final ConfigurableApplicationContext instance : instances) {
+            for (final String binding : List.of("consumeTask-in-0", "consumeAutoTask-in-0")) {
+                final ConsumerProperties consumerProperties = instance.getBean(BindingServiceProperties.class).getConsumerProperties(binding);
+                Assertions.assertTrue(consumerProperties.isPartitioned());
+                Assertions.assertEquals(INSTANCE_COUNT, consumerProperties.getInstanceCount());
+            }
+            instanceIndexes.add(consumerProperties(instance).getInstanceIndex());
+        }
+        Assertions.assertEquals(IntStream.range(0, INSTANCE_COUNT).boxed().collect(Collectors.toSet()), instanceIndexes);
+    }
+
+    @Test
+    void everyTimestampIsHandledByExactlyOneInstance() throws IOException {
+        assertEveryTimestampIsHandledByExactlyOneInstance(instances.getFirst());
+    }
+
+    @Test
+    void taskManagerKeyExpressionSelectsTheAdapterPartition() throws IOException {
+        try (ConfigurableApplicationContext taskManager = new SpringApplicationBuilder(TaskManagerProducerConfiguration.class,
+                                                                                       TestChannelBinderConfiguration.class)
+                .properties("spring.cloud.stream.default-binder=integration",
+                            "spring.main.web-application-type=none",
+                            "spring.cloud.stream.output-bindings=partitionedTaskProducer",
+                            "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".destination=" + PARTITIONED_DESTINATION,
+                            "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".producer.partition-key-expression=" + TASK_MANAGER_PARTITION_KEY_EXPRESSION,
+                            "spring.cloud.stream.bindings." + PRODUCER_BINDING + ".producer.partition-count=" + INSTANCE_COUNT)
+                .run()) {
+            assertEveryTimestampIsHandledByExactlyOneInstance(taskManager);
+        }
+    }
+
+    private void assertEveryTimestampIsHandledByExactlyOneInstance(final ConfigurableApplicationContext producer) throws IOException {
+        final ObjectMapper objectMapper = producer.getBean(ObjectMapper.class);
+        final List<OffsetDateTime> timestamps = IntStream.range(0, 24).mapToObj(BUSINESS_DAY_START::plusHours).toList();
+        // each timestamp is run twice, as an automatic run followed by a manual rerun would
+        for (final int rerun : List.of(0, 1)) {
+            timestamps.forEach(timestamp -> producer.getBean(StreamBridge.class)
+                    .send(PRODUCER_BINDING, task(timestamp, BUSINESS_DAY_START.plusMinutes(rerun))));
+        }
+
+        final Map<Integer, ConfigurableApplicationContext> instancesByIndex = instances.stream()
+                .collect(Collectors.toMap(instance -> consumerProperties(instance).getInstanceIndex(), instance -> instance));
+        final Map<String, Instant> timestampsByTaskId = new HashMap<>();
+        final OutputDestination outputDestination = producer.getBean(OutputDestination.class);
+        Message<byte[]> message;
+        while ((message = outputDestination.receive(1000, PARTITIONED_DESTINATION)) != null) {
+            final TaskDto taskDto = objectMapper.readValue(message.getPayload(), TaskDto.class);
+            timestampsByTaskId.put(taskDto.getId().toString(), taskDto.getTimestamp().toInstant());
+            final int partition = message.getHeaders().get(BinderHeaders.PARTITION_HEADER, Integer.class);
+            // the partition the adapter key extractor would select, with the default partition selector
+            Assertions.assertEquals(Math.abs(TimestampPartitionKeyExtractor.partitionKey(taskDto.getTimestamp()).hashCode()) % INSTANCE_COUNT, partition);
+            instancesByIndex.get(partition).getBean(InputDestination.class).send(message, "consumeTask-in-0");
+        }
+        Assertions.assertEquals(2 * timestamps.size(), timestampsByTaskId.size());
+
+        final Map<Instant, Set<Integer>> instancesByTimestamp = new HashMap<>();
+        final Map<Integer, Integer> runCountsByInstance = new HashMap<>();
+        instancesByIndex.forEach((instanceIndex, instance) -> {
+            final ArgumentCaptor<CoreValidD2ConservativeRequest> requestCaptor = ArgumentCaptor.forClass(CoreValidD2ConservativeRequest.class);
+            Mockito.verify(instance.getBean(CoreValidD2ConservativeClient.class), Mockito.atLeast(0)).run(requestCaptor.capture());
+            requestCaptor.getAllValues().forEach(request -> instancesByTimestamp
+                    .computeIfAbsent(timestampsByTaskId.get(request.getId()), timestamp -> new HashSet<>())
+                    .add(instanceIndex));
+            runCountsByInstance.put(instanceIndex, requestCaptor.getAllValues().size());
+        });
+
+        Assertions.assertEquals(timestamps.stream().map(OffsetDateTime::toInstant).collect(Collectors.toSet()), instancesByTimestamp.keySet());
+        instancesByTimestamp.values().forEach(instanceIndexes -> Assertions.assertEquals(1, instanceIndexes.size()));
+        Assertions.assertEquals(2 * timestamps.size(), runCountsByInstance.values().stream().mapToInt(Integer::intValue).sum());
+        runCountsByInstance.values().forEach(runCount -> Assertions.assertTrue(runCount > 0));
+    }
+
+    /**
+     * Stand-in for the task manager: a producer application without any adapter bean.
+     */
+    @EnableAutoConfiguration
+    static class TaskManagerProducerConfiguration {
+    }
+
+    static class StubConfiguration {
+
+        @Bean
+        @Primary
+        MinioAdapter stubMinioAdapter() {
+            final MinioAdapter minioAdapter = Mockito.mock(MinioAdapter.class);
+            Mockito.when(minioAdapter.generatePreSignedUrlFromFullMinioPath(Mockito.anyString(), Mockito.anyInt()))
+                    .thenReturn("https://minio.test/file");
+            return minioAdapter;
+        }
+
+        @Bean
+        @Primary
+        CoreValidD2ConservativeClient stubCoreValidD2ConservativeClient() {
+            return Mockito.mock(CoreValidD2ConservativeClient.class);
+        }
+    }
+}
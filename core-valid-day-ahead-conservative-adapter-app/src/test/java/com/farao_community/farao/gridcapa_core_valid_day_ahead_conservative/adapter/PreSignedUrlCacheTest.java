@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PreSignedUrlCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdapterMetrics adapterMetrics = new AdapterMetrics(registry);
+    private MinioAdapter minioAdapter;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        minioAdapter = Mockito.mock(MinioAdapter.class);
+        clock = new MutableClock(Instant.parse("2025-10-02T14:30:00Z"));
+        Mockito.when(minioAdapter.generatePreSignedUrlFromFullMinioPath(Mockito.anyString(), Mockito.eq(1)))
+                .thenAnswer(invocation -> "signed://" + invocation.getArgument(0) + "/" + clock.instant());
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        final String first = cache.getPreSignedUrl("/CNEC-RAM");
+        clock.advance(Duration.ofMinutes(10));
+        final String second = cache.getPreSignedUrl("/CNEC-RAM");
+
+        Assertions.assertEquals(first, second);
+        Mockito.verify(minioAdapter, Mockito.times(1)).generatePreSignedUrlFromFullMinioPath("/CNEC-RAM", 1);
+        Assertions.assertEquals(new PreSignedUrlCache.CacheStats(1, 1, 0, 1), cache.getStats());
+    }
+
+    @Test
+    void expiredEntryIsSignedAgain() {
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        final String first = cache.getPreSignedUrl("/CNEC-RAM");
+        clock.advance(Duration.ofMinutes(30));
+        final String second = cache.getPreSignedUrl("/CNEC-RAM");
+
+        Assertions.assertNotEquals(first, second);
+        Mockito.verify(minioAdapter, Mockito.times(2)).generatePreSignedUrlFromFullMinioPath("/CNEC-RAM", 1);
+        Assertions.assertEquals(new PreSignedUrlCache.CacheStats(0, 2, 1, 1), cache.getStats());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 2, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/VERTICES");
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/OTHER");
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/VERTICES");
+
+        Mockito.verify(minioAdapter, Mockito.times(1)).generatePreSignedUrlFromFullMinioPath("/CNEC-RAM", 1);
+        Mockito.verify(minioAdapter, Mockito.times(2)).generatePreSignedUrlFromFullMinioPath("/VERTICES", 1);
+        Assertions.assertEquals(new PreSignedUrlCache.CacheStats(2, 4, 2, 2), cache.getStats());
+    }
+
+    @Test
+    void disabledCacheAlwaysSigns() {
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(false, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/CNEC-RAM");
+
+        Mockito.verify(minioAdapter, Mockito.times(2)).generatePreSignedUrlFromFullMinioPath("/CNEC-RAM", 1);
+        Assertions.assertEquals(new PreSignedUrlCache.CacheStats(0, 0, 0, 0), cache.getStats());
+    }
+
+    @Test
+    void concurrentMissesOnTheSamePathAreSignedOnce() throws Exception {
+        final CountDownLatch signingStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSigning = new CountDownLatch(1);
+        Mockito.when(minioAdapter.generatePreSignedUrlFromFullMinioPath("/SLOW", 1)).thenAnswer(invocation -> {
+            signingStarted.countDown();
+            releaseSigning.await(5, TimeUnit.SECONDS);
+            return "signed:///SLOW";
+        });
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        final CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.getPreSignedUrl("/SLOW"));
+        Assertions.assertTrue(signingStarted.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.getPreSignedUrl("/SLOW"));
+        releaseSigning.countDown();
+
+        Assertions.assertEquals("signed:///SLOW", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("signed:///SLOW", second.get(5, TimeUnit.SECONDS));
+        Mockito.verify(minioAdapter, Mockito.times(1)).generatePreSignedUrlFromFullMinioPath("/SLOW", 1);
+    }
+
+    @Test
+    void onlyMinioSigningsAreTimed() {
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/CNEC-RAM");
+        cache.getPreSignedUrl("/VERTICES");
+
+        Assertions.assertEquals(2, registry.get(AdapterMetrics.URL_SIGNING_TIMER).timer().count());
+    }
+
+    @Test
+    void failedSigningIsNotCached() {
+        Mockito.when(minioAdapter.generatePreSignedUrlFromFullMinioPath("/BROKEN", 1))
+                .thenThrow(new IllegalStateException("MinIO unavailable"))
+                .thenReturn("signed:///BROKEN");
+        final PreSignedUrlCache cache = new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(true, 10, Duration.ofMinutes(30), Duration.ofMinutes(15)), adapterMetrics, clock);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.getPreSignedUrl("/BROKEN"));
+        Assertions.assertEquals("signed:///BROKEN", cache.getPreSignedUrl("/BROKEN"));
+    }
+
+    @Test
+    void timeToLiveMustLeaveTheRunnerPickupMarginBeforeUrlExpiry() {
+        final Duration margin = Duration.ofMinutes(15);
+        final Duration urlValidity = Duration.ofHours(PreSignedUrlCache.URL_VALIDITY_IN_HOURS);
+        final Duration justUnderUrlValidity = urlValidity.minusMinutes(1);
+        final Duration negativeMargin = Duration.ofMinutes(-1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new UrlCacheProperties(true, 10, urlValidity, margin));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new UrlCacheProperties(true, 10, justUnderUrlValidity, margin));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new UrlCacheProperties(true, 10, Duration.ofMinutes(30), negativeMargin));
+        Assertions.assertDoesNotThrow(() -> new UrlCacheProperties(true, 10, urlValidity.minus(margin), margin));
+    }
+
+    @Test
+    void maxSizeMustBePositive() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(UrlCachePropertiesConfiguration.class)
+                .withPropertyValues("core-valid-d2-conservative-adapter.url-cache.max-size=0")
+                .run(context -> Assertions.assertNotNull(context.getStartupFailure()));
+    }
+
+    @EnableConfigurationProperties(UrlCacheProperties.class)
+    static class UrlCachePropertiesConfiguration {
+    }
+}
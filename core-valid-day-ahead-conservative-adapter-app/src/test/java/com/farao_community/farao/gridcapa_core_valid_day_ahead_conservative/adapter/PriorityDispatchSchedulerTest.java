@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.AUTOMATIC;
+import static com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter.CoreValidD2ConservativeAdapterListener.MANUAL;
+
+class PriorityDispatchSchedulerTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private List<String> runWhileSingleWorkerIsBusy(final Duration automaticMaxWait) throws InterruptedException {
+        final DispatchProperties properties = new DispatchProperties(16, 1, 2, 1, automaticMaxWait, Duration.ofSeconds(5), 16);
+        final PriorityDispatchScheduler scheduler = new PriorityDispatchScheduler(properties, registry);
+        scheduler.start();
+        final List<String> executionOrder = new CopyOnWriteArrayList<>();
+        final CountDownLatch workerBusy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        try {
+            scheduler.submit(AUTOMATIC, () -> {
+                workerBusy.countDown();
+                awaitQuietly(release);
+            });
+            Assertions.assertTrue(workerBusy.await(1, TimeUnit.SECONDS));
+            for (final String job : List.of("auto1", "auto2", "manual1", "manual2")) {
+                scheduler.submit(job.startsWith("auto") ? AUTOMATIC : MANUAL, () -> {
+                    executionOrder.add(job);
+                    done.countDown();
+                });
+            }
+            Assertions.assertEquals(2, scheduler.getQueueSize(MANUAL));
+            Assertions.assertEquals(2, scheduler.getQueueSize(AUTOMATIC));
+            release.countDown();
+            Assertions.assertTrue(done.await(1, TimeUnit.SECONDS));
+            return executionOrder;
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void manualJobsOvertakeAutomaticBacklog() throws InterruptedException {
+        Assertions.assertEquals(List.of("manual1", "manual2", "auto1", "auto2"),
+                                runWhileSingleWorkerIsBusy(Duration.ofMinutes(2)));
+        Assertions.assertEquals(2, registry.find("core.valid.d2.conservative.adapter.dispatch.queue.wait")
+                .tag("launch.type", "MANUAL").timer().count());
+    }
+
+    @Test
+    void starvingAutomaticJobsAreTakenFirst() throws InterruptedException {
+        Assertions.assertEquals(List.of("auto1", "auto2", "manual1", "manual2"),
+                                runWhileSingleWorkerIsBusy(Duration.ZERO));
+    }
+
+    @Test
+    void submitAfterShutdownThrowsException() throws InterruptedException {
+        final PriorityDispatchScheduler scheduler = new PriorityDispatchScheduler(
+                new DispatchProperties(16, 1, 2, 1, Duration.ofMinutes(2), Duration.ofSeconds(5), 16), registry);
+        scheduler.start();
+        scheduler.shutdown();
+        Assertions.assertThrows(CoreValidD2ConservativeAdapterException.class, () -> scheduler.submit(MANUAL, () -> { }));
+    }
+
+    @Test
+    void nonPositiveWeightIsRejectedAtStartup() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(DispatchPropertiesConfiguration.class)
+                .withPropertyValues("core-valid-d2-conservative-adapter.dispatch.automatic-weight=0")
+                .run(context -> Assertions.assertNotNull(context.getStartupFailure()));
+    }
+
+    @EnableConfigurationProperties(DispatchProperties.class)
+    static class DispatchPropertiesConfiguration {
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
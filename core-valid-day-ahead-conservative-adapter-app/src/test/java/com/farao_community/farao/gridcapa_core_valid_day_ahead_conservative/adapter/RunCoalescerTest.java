@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class RunCoalescerTest {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-10-02T14:30Z");
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-10-02T12:00:00Z"));
+
+    private RunCoalescer coalescer() {
+        return new RunCoalescer(new CoalescingProperties(2, Duration.ofHours(24)), clock);
+    }
+
+    private static ProcessRunDto run(final String executionDate) {
+        return new ProcessRunDto(UUID.randomUUID(), OffsetDateTime.parse(executionDate), List.of());
+    }
+
+    @Test
+    void olderRunIsDiscardedWhenNewerOneIsPending() {
+        final RunCoalescer coalescer = coalescer();
+        final ProcessRunDto olderRun = run("2025-10-01T10:00Z");
+        final ProcessRunDto newerRun = run("2025-10-01T11:00Z");
+
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, newerRun));
+        Assertions.assertFalse(coalescer.tryClaim(TIMESTAMP, olderRun));
+        Assertions.assertEquals(1, coalescer.getSupersededRuns());
+    }
+
+    @Test
+    void inFlightRunIsSupersededByNewerOne() {
+        final RunCoalescer coalescer = coalescer();
+        final ProcessRunDto olderRun = run("2025-10-01T10:00Z");
+        final ProcessRunDto newerRun = run("2025-10-01T11:00Z");
+
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, olderRun));
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, newerRun));
+        Assertions.assertTrue(coalescer.isSuperseded(TIMESTAMP, olderRun));
+        Assertions.assertFalse(coalescer.isSuperseded(TIMESTAMP, newerRun));
+
+        coalescer.release(TIMESTAMP, olderRun);
+        Assertions.assertFalse(coalescer.tryClaim(TIMESTAMP, olderRun));
+    }
+
+    @Test
+    void releasedTimestampAcceptsAnyRun() {
+        final RunCoalescer coalescer = coalescer();
+        final ProcessRunDto olderRun = run("2025-10-01T10:00Z");
+        final ProcessRunDto newerRun = run("2025-10-01T11:00Z");
+
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, newerRun));
+        coalescer.release(TIMESTAMP, newerRun);
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, olderRun));
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP.plusHours(1), newerRun));
+    }
+
+    @Test
+    void olderRunIsStillDiscardedOnceNewerOneWasDispatchedAndReleased() {
+        final RunCoalescer coalescer = coalescer();
+        final ProcessRunDto olderRun = run("2025-10-01T10:00Z");
+        final ProcessRunDto newerRun = run("2025-10-01T11:00Z");
+
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, newerRun));
+        coalescer.recordDispatched(TIMESTAMP, newerRun);
+        coalescer.release(TIMESTAMP, newerRun);
+
+        Assertions.assertFalse(coalescer.tryClaim(TIMESTAMP, olderRun));
+        Assertions.assertTrue(coalescer.isSuperseded(TIMESTAMP, olderRun));
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, newerRun));
+        coalescer.release(TIMESTAMP, newerRun);
+
+        coalescer.recordDispatched(TIMESTAMP, olderRun);
+        Assertions.assertFalse(coalescer.tryClaim(TIMESTAMP, olderRun));
+    }
+
+    @Test
+    void dispatchedRunsAreForgottenOutsideTheWindowOrWhenFull() {
+        final RunCoalescer coalescer = coalescer();
+        final ProcessRunDto olderRun = run("2025-10-01T10:00Z");
+        final ProcessRunDto newerRun = run("2025-10-01T11:00Z");
+
+        coalescer.recordDispatched(TIMESTAMP, newerRun);
+        clock.advance(Duration.ofHours(24));
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, olderRun));
+        coalescer.release(TIMESTAMP, olderRun);
+
+        coalescer.recordDispatched(TIMESTAMP, newerRun);
+        coalescer.recordDispatched(TIMESTAMP.plusHours(1), newerRun);
+        coalescer.recordDispatched(TIMESTAMP.plusHours(2), newerRun);
+        Assertions.assertTrue(coalescer.tryClaim(TIMESTAMP, olderRun));
+        Assertions.assertFalse(coalescer.tryClaim(TIMESTAMP.plusHours(2), olderRun));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+class TaskDeduplicatorTest {
+
+    private static final UUID TASK_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-10-02T14:30:00Z");
+
+    @Test
+    void sameRunIsSuppressedWithinWindow() {
+        final TaskDeduplicator deduplicator = new TaskDeduplicator(new DeduplicationProperties(true, 10, Duration.ofHours(1)),
+                                                                   Clock.fixed(NOW, ZoneOffset.UTC));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+        Assertions.assertFalse(deduplicator.tryRegister(TASK_ID, "run1"));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run2"));
+        Assertions.assertEquals(1, deduplicator.getSuppressedDuplicates());
+    }
+
+    @Test
+    void sameRunIsAcceptedOutsideWindow() {
+        final MutableClock clock = new MutableClock(NOW);
+        final TaskDeduplicator deduplicator = new TaskDeduplicator(new DeduplicationProperties(true, 10, Duration.ofHours(1)), clock);
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+        clock.advance(Duration.ofMinutes(59));
+        Assertions.assertFalse(deduplicator.tryRegister(TASK_ID, "run1"));
+        clock.advance(Duration.ofMinutes(1));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+    }
+
+    @Test
+    void unregisteredRunIsAcceptedAgain() {
+        final TaskDeduplicator deduplicator = new TaskDeduplicator(new DeduplicationProperties(true, 10, Duration.ofHours(1)),
+                                                                   Clock.fixed(NOW, ZoneOffset.UTC));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+        deduplicator.unregister(TASK_ID, "run1");
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+    }
+
+    @Test
+    void eldestRunIsForgottenWhenIndexIsFull() {
+        final TaskDeduplicator deduplicator = new TaskDeduplicator(new DeduplicationProperties(true, 2, Duration.ofHours(1)),
+                                                                   Clock.fixed(NOW, ZoneOffset.UTC));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run2"));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run3"));
+        Assertions.assertTrue(deduplicator.tryRegister(TASK_ID, "run1"));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Task reads against a local stub of the task manager REST API answering with the configured status code.
+ */
+class TaskManagerClientTest {
+
+    private static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-10-02T14:30Z");
+
+    private HttpServer taskManager;
+    private TaskManagerClient taskManagerClient;
+    private volatile int status;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        taskManager = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        taskManager.createContext("/tasks/", exchange -> {
+            final byte[] body = (status == 200
+                    ? """
+                      {"id": "%s", "timestamp": "%s", "status": "READY", "inputs": [], "availableInputs": [], "outputs": [],
+                       "processEvents": [], "runHistory": [], "parameters": []}
+                      """.formatted(UUID.randomUUID(), TIMESTAMP)
+                    : "{\"error\": \"unavailable\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+            exchange.close();
+        });
+        taskManager.start();
+        taskManagerClient = new TaskManagerClient(RestClient.builder(),
+                                                  new TaskManagerProperties("http://localhost:" + taskManager.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskManager.stop(0);
+    }
+
+    @Test
+    void existingTaskIsReturned() {
+        status = 200;
+        Assertions.assertTrue(TIMESTAMP.isEqual(taskManagerClient.getTask(TIMESTAMP).orElseThrow().getTimestamp()));
+    }
+
+    @Test
+    void missingTaskIsEmpty() {
+        status = 404;
+        Assertions.assertTrue(taskManagerClient.getTask(TIMESTAMP).isEmpty());
+    }
+
+    @Test
+    void errorStatusIsRejected() {
+        status = 503;
+        Assertions.assertThrows(HttpServerErrorException.class, () -> taskManagerClient.getTask(TIMESTAMP));
+        status = 401;
+        Assertions.assertThrows(HttpClientErrorException.class, () -> taskManagerClient.getTask(TIMESTAMP));
+    }
+
+    @Test
+    void readsFailWithoutBaseUrl() {
+        final TaskManagerClient unconfiguredClient = new TaskManagerClient(RestClient.builder(), new TaskManagerProperties(null));
+
+        Assertions.assertFalse(unconfiguredClient.isConfigured());
+        Assertions.assertThrows(CoreValidD2ConservativeAdapterException.class, () -> unconfiguredClient.getTask(TIMESTAMP));
+    }
+}
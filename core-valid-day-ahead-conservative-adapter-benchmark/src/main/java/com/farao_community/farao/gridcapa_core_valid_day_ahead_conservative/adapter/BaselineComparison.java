@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares JMH JSON results ({@code -rf json}) against a baseline and exits with status 1 when a benchmark
+ * regressed by more than the tolerance: primary score worse (lower throughput, or higher time for time based modes),
+ * or allocation per operation ({@code gc.alloc.rate.norm}, with {@code -prof gc}) higher. Benchmarks missing from either file are ignored.
+ * <p>
+ * {@code java -cp benchmarks.jar ...adapter.BaselineComparison baseline.json results.json [tolerance %, default 10]}
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String THROUGHPUT_MODE = "thrpt";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <results.json> [tolerance %]");
+            System.exit(2);
+        }
+        final double tolerance = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+        final Map<String, Score> baseline = read(Path.of(args[0]));
+        final Map<String, Score> results = read(Path.of(args[1]));
+        final List<String> regressions = compare(baseline, results, tolerance);
+        regressions.forEach(System.out::println);
+        if (!regressions.isEmpty()) {
+            System.out.printf("%d regression(s) beyond %.0f%%%n", regressions.size(), tolerance * 100);
+            System.exit(1);
+        }
+        System.out.printf("No regression beyond %.0f%% over %d benchmark(s)%n", tolerance * 100, results.size());
+    }
+
+    static List<String> compare(final Map<String, Score> baseline, final Map<String, Score> results, final double tolerance) {
+        final List<String> regressions = new ArrayList<>();
+        results.forEach((benchmark, result) -> {
+            final Score reference = baseline.get(benchmark);
+            if (reference == null) {
+                return;
+            }
+            final boolean worse = result.higherIsBetter()
+                    ? result.score() < reference.score() * (1 - tolerance)
+                    : result.score() > reference.score() * (1 + tolerance);
+            if (worse) {
+                regressions.add("%s: score %.3f -> %.3f %s".formatted(benchmark, reference.score(), result.score(), result.unit()));
+            }
+            if (reference.allocation() != null && result.allocation() != null
+                    && result.allocation() > reference.allocation() * (1 + tolerance)) {
+                regressions.add("%s: allocation %.1f -> %.1f B/op".formatted(benchmark, reference.allocation(), result.allocation()));
+            }
+        });
+        return regressions;
+    }
+
+    static Map<String, Score> read(final Path resultFile) throws IOException {
+        final Map<String, Score> scores = new LinkedHashMap<>();
+        for (final JsonNode run : new ObjectMapper().readTree(resultFile.toFile())) {
+            final JsonNode primaryMetric = run.path("primaryMetric");
+            scores.put(key(run), new Score(primaryMetric.path("score").asDouble(),
+                                           primaryMetric.path("scoreUnit").asText(),
+                                           THROUGHPUT_MODE.equals(run.path("mode").asText()),
+                                           allocation(run.path("secondaryMetrics"))));
+        }
+        return scores;
+    }
+
+    private static String key(final JsonNode run) {
+        final Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        return params.isEmpty() ? run.path("benchmark").asText() : run.path("benchmark").asText() + params;
+    }
+
+    private static Double allocation(final JsonNode secondaryMetrics) {
+        // older JMH versions prefix profiler metrics with a middle dot
+        final JsonNode metric = secondaryMetrics.has(ALLOCATION_METRIC)
+                ? secondaryMetrics.get(ALLOCATION_METRIC)
+                : secondaryMetrics.get("·" + ALLOCATION_METRIC);
+        return metric == null ? null : metric.path("score").asDouble();
+    }
+
+    record Score(double score, String unit, boolean higherIsBetter, Double allocation) {
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskParameterDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.starter.CoreValidD2ConservativeClient;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.springframework.cloud.stream.function.StreamBridge;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus.VALIDATED;
+import static com.farao_community.farao.gridcapa.task_manager.api.TaskStatus.SUCCESS;
+
+/**
+ * Realistic inputs for the adapter benchmarks: a task of a timestamp that has been rerun many times
+ * (run history in chronological order, as stored by the task manager) with a large parameter list.
+ * MinIO and the runner client are stubbed so that only the adapter's own work is measured.
+ */
+final class BenchmarkFixtures {
+
+    static final OffsetDateTime TIMESTAMP = OffsetDateTime.parse("2025-10-02T14:30Z");
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Collaborators are stubs rather than mocks: stub-only mocks record no invocation, so that memory and
+     * allocation rates do not grow with the number of benchmark operations.
+     */
+    static Adapter adapter(final boolean urlCacheEnabled) {
+        final MinioAdapter minioAdapter = Mockito.mock(MinioAdapter.class, Mockito.withSettings().stubOnly()
+                .defaultAnswer(invocation -> "https://minio.stub/" + invocation.getArgument(0) + "?X-Amz-Signature=stub"));
+        final CoreValidD2ConservativeClient client = Mockito.mock(CoreValidD2ConservativeClient.class, Mockito.withSettings().stubOnly());
+        final DispatchProperties dispatchProperties = new DispatchProperties(16, 1, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(1), 16);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final ErrorHandlingProperties errorHandlingProperties = new ErrorHandlingProperties(1, Duration.ofSeconds(1), 2.0, Duration.ofSeconds(1), List.of());
+        final FailureClassifier failureClassifier = new FailureClassifier(errorHandlingProperties);
+        final TransientFailureRetrier transientFailureRetrier = new TransientFailureRetrier(failureClassifier, errorHandlingProperties);
+        final DeadLetterPublisher deadLetterPublisher = new DeadLetterPublisher(Mockito.mock(StreamBridge.class, Mockito.withSettings().stubOnly()));
+        final PriorityDispatchScheduler scheduler = new PriorityDispatchScheduler(dispatchProperties, registry);
+        scheduler.start();
+        final AsyncTaskDispatcher asyncTaskDispatcher = new AsyncTaskDispatcher(dispatchProperties, scheduler, transientFailureRetrier, deadLetterPublisher);
+        final DeferredTaskScheduler deferredTaskScheduler = new DeferredTaskScheduler(
+                new DeferredRetryProperties(false, 1, Duration.ofSeconds(1), 2.0, Duration.ofSeconds(1), Duration.ofSeconds(1)),
+                Mockito.mock(TaskManagerClient.class, Mockito.withSettings().stubOnly()),
+                asyncTaskDispatcher,
+                failureClassifier,
+                deadLetterPublisher);
+        final AdapterMetrics adapterMetrics = new AdapterMetrics(registry);
+        final CoreValidD2ConservativeAdapterListener listener = new CoreValidD2ConservativeAdapterListener(
+                client,
+                new PreSignedUrlCache(minioAdapter, new UrlCacheProperties(urlCacheEnabled, 1000, Duration.ofMinutes(30), Duration.ofMinutes(15)),
+                                      adapterMetrics),
+                asyncTaskDispatcher,
+                // every invocation reuses the same run, which must not be dropped as a duplicate
+                new TaskDeduplicator(new DeduplicationProperties(false, 1, Duration.ofHours(1))),
+                new RunCoalescer(new CoalescingProperties(1000, Duration.ofHours(24))),
+                adapterMetrics,
+                deferredTaskScheduler,
+                failureClassifier,
+                new InputPreflightChecker(new InputPreflightProperties(false, Duration.ofSeconds(2), 1)),
+                new InputFileTypeRegistry(new InputFilesProperties(null, null, InputFilesProperties.UnknownTypePolicy.IGNORE)),
+                transientFailureRetrier,
+                deadLetterPublisher,
+                dispatchProperties);
+        return new Adapter(listener, asyncTaskDispatcher, scheduler, deferredTaskScheduler);
+    }
+
+    static List<ProcessFileDto> inputs() {
+        return List.of(
+                new ProcessFileDto("/CORE/VALID/D2CC/CNEC-RAM/2025/10/02/cnec-ram.xml", "CNEC-RAM", VALIDATED,
+                                   "cnec-ram.xml", "docId1", TIMESTAMP),
+                new ProcessFileDto("/CORE/VALID/D2CC/VERTICES/2025/10/02/vertices.csv", "VERTICES", VALIDATED,
+                                   "vertices.csv", "docId2", TIMESTAMP));
+    }
+
+    static List<ProcessRunDto> chronologicalRunHistory(final int size) {
+        final List<ProcessFileDto> inputs = inputs();
+        final OffsetDateTime firstExecution = TIMESTAMP.minusDays(1);
+        return IntStream.range(0, size)
+                .mapToObj(i -> new ProcessRunDto(UUID.randomUUID(), firstExecution.plusMinutes(i), inputs))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    static List<TaskParameterDto> parameters(final int count) {
+        final String json = IntStream.range(0, count)
+                .mapToObj(i -> """
+                    {"id":"PARAM_%1$d","name":"Parameter %1$d","displayOrder":%1$d,"parameterType":"INT",\
+                    "sectionTitle":"Section %2$d","sectionOrder":%2$d,"value":"%1$d","defaultValue":"0"}"""
+                        .formatted(i, i / 10))
+                .collect(Collectors.joining(",", "[", "]"));
+        try {
+            return new ObjectMapper()
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                    .readValue(json, new TypeReference<>() { });
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Invalid benchmark parameters", e);
+        }
+    }
+
+    /**
+     * The run history is copied on each call, the way each consumed message gets its own deserialized list,
+     * so that results stay comparable with the former in-place sort of the newest run lookup.
+     */
+    static TaskDto task(final UUID id,
+                        final List<ProcessRunDto> chronologicalRunHistory,
+                        final List<TaskParameterDto> parameters) {
+        return new TaskDto(id,
+                           TIMESTAMP,
+                           SUCCESS,
+                           inputs(),
+                           null,
+                           List.of(),
+                           List.of(),
+                           new ArrayList<>(chronologicalRunHistory),
+                           parameters);
+    }
+
+    /**
+     * JSON payload of a task as published by the task manager, with its full run history, process events
+     * and output files.
+     */
+    static byte[] taskJson(final int runHistorySize, final int processEventCount) {
+        final String inputs = """
+            [{"filePath":"/CORE/VALID/D2CC/CNEC-RAM/2025/10/02/cnec-ram.xml","fileType":"CNEC-RAM","processFileStatus":"VALIDATED",\
+            "filename":"cnec-ram.xml","documentId":"docId1","lastModificationDate":"2025-10-02T14:30:00Z"},\
+            {"filePath":"/CORE/VALID/D2CC/VERTICES/2025/10/02/vertices.csv","fileType":"VERTICES","processFileStatus":"VALIDATED",\
+            "filename":"vertices.csv","documentId":"docId2","lastModificationDate":"2025-10-02T14:30:00Z"}]""";
+        final OffsetDateTime firstExecution = TIMESTAMP.minusDays(1);
+        final String runHistory = IntStream.range(0, runHistorySize)
+                .mapToObj(i -> "{\"id\":\"%s\",\"executionDate\":\"%s\",\"inputs\":%s}"
+                        .formatted(UUID.randomUUID(), firstExecution.plusMinutes(i), inputs))
+                .collect(Collectors.joining(",", "[", "]"));
+        final String processEvents = IntStream.range(0, processEventCount)
+                .mapToObj(i -> "{\"timestamp\":\"%s\",\"level\":\"INFO\",\"message\":\"Step %d of the conservative computation done\",\"serviceName\":\"core-valid-d2-conservative-runner\"}"
+                        .formatted(firstExecution.plusSeconds(i), i))
+                .collect(Collectors.joining(",", "[", "]"));
+        final String parameters = IntStream.range(0, 20)
+                .mapToObj(i -> "{\"id\":\"PARAM_%1$d\",\"name\":\"Parameter %1$d\",\"parameterType\":\"INT\",\"value\":\"%1$d\"}".formatted(i))
+                .collect(Collectors.joining(",", "[", "]"));
+        return ("{\"id\":\"%s\",\"timestamp\":\"%s\",\"status\":\"SUCCESS\",\"inputs\":%s,\"availableInputs\":%s,"
+                + "\"outputs\":%s,\"processEvents\":%s,\"runHistory\":%s,\"parameters\":%s}")
+                .formatted(UUID.randomUUID(), TIMESTAMP, inputs, inputs, inputs, processEvents, runHistory, parameters)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adapter under benchmark, whose worker and timer threads must be stopped at tear down so that they do not
+     * outlive their trial and skew the next one.
+     */
+    record Adapter(CoreValidD2ConservativeAdapterListener listener,
+                   AsyncTaskDispatcher asyncTaskDispatcher,
+                   PriorityDispatchScheduler scheduler,
+                   DeferredTaskScheduler deferredTaskScheduler) {
+
+        void shutdown() throws InterruptedException {
+            deferredTaskScheduler.shutdown();
+            asyncTaskDispatcher.shutdown();
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskParameterDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessRunDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RunIdResolutionBenchmark {
+
+    @Param({"1", "10", "100", "500"})
+    private int runHistorySize;
+
+    private BenchmarkFixtures.Adapter adapter;
+    private CoreValidD2ConservativeAdapterListener listener;
+    private UUID taskId;
+    private List<ProcessRunDto> runHistory;
+    private List<TaskParameterDto> parameters;
+
+    @Setup
+    public void setUp() {
+        adapter = BenchmarkFixtures.adapter(true);
+        listener = adapter.listener();
+        taskId = UUID.randomUUID();
+        runHistory = BenchmarkFixtures.chronologicalRunHistory(runHistorySize);
+        parameters = BenchmarkFixtures.parameters(0);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        adapter.shutdown();
+    }
+
+    @Benchmark
+    public String getCurrentRunId() {
+        return listener.getCurrentRunId(BenchmarkFixtures.task(taskId, runHistory, parameters), false);
+    }
+}
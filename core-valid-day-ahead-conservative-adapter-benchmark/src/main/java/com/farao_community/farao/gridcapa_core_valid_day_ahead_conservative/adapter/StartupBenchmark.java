@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from the launch of the packaged application to the delivery of a run request to its consumer, each
+ * measurement in a fresh process, the way the fast-start stage of the Dockerfile runs it: the executable jar
+ * ({@code -Dstartup.jar}, built with the fast-start Maven profile for the fast-start variant) is extracted, and the
+ * fast-start variant gets a CDS archive from a training run, AOT initialization and the fast-start profile.
+ * <p>
+ * A task is published to the durable queue of the manual task binding before each launch, as tasks wait for an
+ * adapter being restarted, and the clock stops once the broker ({@code -Dstartup.rabbitmq.host} and {@code port},
+ * {@code localhost:5672} by default) has delivered it: its queue no longer holds any ready message. MinIO properties
+ * are placeholders, signing the URLs of that task happens after the measurement.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String FAST_START = "fast-start";
+    private static final String TASK_DESTINATION = "startup-benchmark-tasks";
+    private static final String TASK_GROUP = "startup-benchmark";
+    private static final String TASK_QUEUE = TASK_DESTINATION + "." + TASK_GROUP;
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofMinutes(2);
+    private static final List<String> PLACEHOLDER_PROPERTIES = List.of(
+            "--minio-adapter.bucket=startup",
+            "--minio-adapter.base-path=startup",
+            "--minio-adapter.access-key=startup",
+            "--minio-adapter.secret-key=startup",
+            "--minio-adapter.url=https://minio.startup/");
+
+    @Param({"default", FAST_START})
+    private String variant;
+
+    private Path workDirectory;
+    private List<String> startupCommand;
+    private List<String> brokerArguments;
+    private CachingConnectionFactory connectionFactory;
+    private RabbitAdmin rabbitAdmin;
+    private Process application;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, InterruptedException {
+        final String jarProperty = System.getProperty("startup.jar");
+        if (jarProperty == null || !Files.isRegularFile(Path.of(jarProperty))) {
+            throw new IllegalStateException("Set -Dstartup.jar to the executable jar of the application, got " + jarProperty);
+        }
+        final Path jar = Path.of(jarProperty);
+        workDirectory = Files.createTempDirectory("startup-benchmark");
+        final String host = System.getProperty("startup.rabbitmq.host", "localhost");
+        final int port = Integer.getInteger("startup.rabbitmq.port", 5672);
+        final String username = System.getProperty("startup.rabbitmq.username", "guest");
+        final String password = System.getProperty("startup.rabbitmq.password", "guest");
+        connectionFactory = new CachingConnectionFactory(host, port);
+        connectionFactory.setUsername(username);
+        connectionFactory.setPassword(password);
+        brokerArguments = List.of("--server.port=0",
+                                  "--spring.rabbitmq.host=" + host,
+                                  "--spring.rabbitmq.port=" + port,
+                                  "--spring.rabbitmq.username=" + username,
+                                  "--spring.rabbitmq.password=" + password,
+                                  "--spring.cloud.stream.bindings.consumeTask-in-0.destination=" + TASK_DESTINATION,
+                                  "--spring.cloud.stream.bindings.consumeTask-in-0.group=" + TASK_GROUP);
+        rabbitAdmin = new RabbitAdmin(connectionFactory);
+        // declared as the binder declares the queue of a consumer group, so that the task waits for the adapter
+        rabbitAdmin.declareQueue(new Queue(TASK_QUEUE, true, false, false));
+        run(List.of(java(), "-Djarmode=tools", "-jar", jar.toAbsolutePath().toString(), "extract", "--destination", "application"));
+        final String extractedJar = workDirectory.resolve("application").resolve(jar.getFileName()).toString();
+        final List<String> jvmOptions = FAST_START.equals(variant)
+                ? List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.include=" + FAST_START)
+                : List.of();
+        if (FAST_START.equals(variant)) {
+            // the training run of the Dockerfile, which stops at context refresh
+            final List<String> trainingOptions = new ArrayList<>(jvmOptions);
+            trainingOptions.add("-Dspring.context.exit=onRefresh");
+            run(command(List.of("-XX:ArchiveClassesAtExit=application.jsa"), trainingOptions, extractedJar));
+            startupCommand = command(List.of("-XX:SharedArchiveFile=application.jsa"), jvmOptions, extractedJar);
+        } else {
+            startupCommand = command(List.of(), jvmOptions, extractedJar);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void publishTask() {
+        rabbitAdmin.purgeQueue(TASK_QUEUE);
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        new RabbitTemplate(connectionFactory).send(TASK_QUEUE, new Message(BenchmarkFixtures.taskJson(10, 100), messageProperties));
+    }
+
+    @Benchmark
+    public long timeToFirstConsumedMessage() throws IOException, InterruptedException {
+        application = start(startupCommand, brokerArguments);
+        final long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+        long readyMessages;
+        while ((readyMessages = readyMessages()) > 0) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("%s exited with status %d before consuming the task, see %s"
+                                                        .formatted(startupCommand, application.exitValue(), workDirectory.resolve("process.log")));
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("The task was not consumed within " + DELIVERY_TIMEOUT);
+            }
+            Thread.sleep(1);
+        }
+        return readyMessages;
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+            application = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkDirectory() throws IOException {
+        if (rabbitAdmin != null) {
+            rabbitAdmin.deleteQueue(TASK_QUEUE);
+            rabbitAdmin.deleteExchange(TASK_DESTINATION);
+            connectionFactory.destroy();
+        }
+        if (workDirectory != null) {
+            try (Stream<Path> files = Files.walk(workDirectory)) {
+                for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static List<String> command(final List<String> cdsOptions, final List<String> jvmOptions, final String jar) {
+        final List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(cdsOptions);
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(PLACEHOLDER_PROPERTIES);
+        return command;
+    }
+
+    private long readyMessages() {
+        final QueueInformation queueInformation = rabbitAdmin.getQueueInfo(TASK_QUEUE);
+        if (queueInformation == null) {
+            throw new IllegalStateException("Queue " + TASK_QUEUE + " was deleted");
+        }
+        return queueInformation.getMessageCount();
+    }
+
+    private Process start(final List<String> processCommand, final List<String> arguments) throws IOException {
+        final List<String> command = new ArrayList<>(processCommand);
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .directory(workDirectory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDirectory.resolve("process.log").toFile())
+                .start();
+    }
+
+    private void run(final List<String> processCommand) throws IOException, InterruptedException {
+        final int exitCode = start(processCommand, List.of()).waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("%s exited with status %d, see %s"
+                                                    .formatted(processCommand, exitCode, workDirectory.resolve("process.log")));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.gridcapa_core_valid_day_ahead_conservative.adapter;
+
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full Jackson binding of a task message, as done by the default JSON message converter, against the lean
+ * streaming read of {@link LeanTaskDtoMessageConverter}. Run with {@code -prof gc} to compare allocations; the largest
+ * run history is that of a timestamp rerun every few minutes over weeks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDeserializationBenchmark {
+
+    @Param({"10", "500", "5000"})
+    private int runHistorySize;
+
+    @Param({"100", "5000"})
+    private int processEventCount;
+
+    private ObjectMapper objectMapper;
+    private LeanTaskDtoMessageConverter leanConverter;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        leanConverter = new LeanTaskDtoMessageConverter(objectMapper);
+        payload = BenchmarkFixtures.taskJson(runHistorySize, processEventCount);
+    }
+
+    @Benchmark
+    public TaskDto fullBinding() throws IOException {
+        return objectMapper.readValue(payload, TaskDto.class);
+    }
+
+    @Benchmark
+    public TaskDto leanRead() throws IOException {
+        return leanConverter.readTask(payload);
+    }
+}